@@ -0,0 +1,97 @@
+package com.champlain.benchmarks;
+
+import com.champlain.enrollmentsservice.config.HttpClientPoolProperties;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
+import io.netty.channel.ChannelOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+   One student lookup per call against the stub students endpoint, from CALLERS threads that each wait for their
+   response before sending the next, so the sample time percentiles (p50/p99/...) are per request latencies.
+   At latencyMs=15 the callers offer about 2000 requests per second.
+
+   provider=pooled is the dedicated ConnectionProvider of ServiceClientConfig with the HttpClientPoolProperties defaults,
+   provider=default is a WebClient with no connector, on the global reactor-netty pool, as the clients were built before.
+   The stub only speaks HTTP/1.1, so the h2c option is not compared here.
+
+   java -jar benchmarks/build/libs/benchmarks-1.0.0-SNAPSHOT-jmh.jar ConnectionProvider -bm sample -p latencyMs=0,15
+ */
+@State(Scope.Benchmark)
+public class ConnectionProviderBenchmark {
+
+    private static final int CALLERS = 32;
+    private static final int STUDENTS = 1000;
+
+    @Param({"pooled", "default"})
+    public String provider;
+
+    //injected latency of every /row/{id} call of the stub students endpoint
+    @Param({"0", "15"})
+    public long latencyMs;
+
+    private StubStudentsServer stub;
+    private ConnectionProvider connectionProvider;
+    private StudentServiceClientAsynchronous studentServiceClientAsynchronous;
+    private final AtomicInteger nextRowId = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = new StubStudentsServer(latencyMs);
+
+        WebClient webClient;
+        if (provider.equals("pooled")) {
+            HttpClientPoolProperties pool = new HttpClientPoolProperties();
+            connectionProvider = ConnectionProvider.builder("benchmark-students-service")
+                    .maxConnections(pool.getMaxConnections())
+                    .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                    .maxIdleTime(pool.getMaxIdleTime())
+                    .maxLifeTime(pool.getMaxLifeTime())
+                    .evictInBackground(pool.getEvictInBackground())
+                    .build();
+            webClient = WebClient.builder()
+                    .baseUrl(stub.baseUrl())
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                            .responseTimeout(pool.getResponseTimeout())
+                            .keepAlive(pool.isKeepAlive())))
+                    .build();
+        } else {
+            webClient = WebClient.builder()
+                    .baseUrl(stub.baseUrl())
+                    .build();
+        }
+        studentServiceClientAsynchronous = new StudentServiceClientAsynchronous(webClient);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block();
+        }
+        stub.close();
+    }
+
+    @Benchmark
+    @Threads(CALLERS)
+    public StudentResponseModel getStudent() {
+        int rowId = Math.floorMod(nextRowId.getAndIncrement(), STUDENTS) + 1;
+        return studentServiceClientAsynchronous.getStudent(rowId).block(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,103 @@
+package com.champlain.benchmarks;
+
+import com.champlain.courseservice.dataaccesslayer.Course;
+import com.champlain.courseservice.dataaccesslayer.CourseRepository;
+import com.champlain.courseservice.dataaccesslayer.CourseWriteRepositoryImpl;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+   GET /api/v1/courses/{courseId} and every enrollment create and update go through CourseRepository.findCourseByCourseId.
+   The courses-service schema-psql.sql and data-psql.sql are loaded into a PostgreSQL container, and every course is
+   copied scale - 1 times under a new course_id (1000 courses x 1000 = 1M rows). Each invocation looks up one of
+   1000 random existing course ids.
+
+   indexed=false drops the unique constraint on course_id, which is the sequential scan the lookup was before it.
+
+   java -jar benchmarks/build/libs/benchmarks-1.0.0-SNAPSHOT-jmh.jar CourseLookup -p scale=1,1000
+ */
+@State(Scope.Benchmark)
+public class CourseLookupBenchmark {
+
+    private static final int LOOKUP_IDS = 1000;
+
+    @Param({"1000"})
+    public int scale;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private PostgreSQLContainer<?> postgres;
+    private CourseRepository courseRepository;
+    private List<String> courseIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        //pooled like the spring-boot-starter-data-r2dbc default, so a lookup doesn't open a connection
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:postgresql://%s:%s@%s:%d/%s".formatted(
+                postgres.getUsername(), postgres.getPassword(), postgres.getHost(),
+                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName()));
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema-psql.sql"), new ClassPathResource("data-psql.sql"))
+                .populate(connectionFactory)
+                .block();
+
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("INSERT INTO courses (course_id, course_number, course_name, num_hours, num_credits, department, capacity) "
+                        + "SELECT gen_random_uuid()::text, c.course_number, c.course_name, c.num_hours, c.num_credits, c.department, c.capacity "
+                        + "FROM courses c CROSS JOIN generate_series(1, :copies)")
+                .bind("copies", scale - 1)
+                .then()
+                .block(Duration.ofMinutes(10));
+        if (!indexed) {
+            databaseClient.sql("ALTER TABLE courses DROP CONSTRAINT courses_course_id_key").then().block();
+        }
+        databaseClient.sql("ANALYZE courses").then().block();
+
+        courseIds = databaseClient.sql("SELECT course_id FROM courses ORDER BY random() LIMIT " + LOOKUP_IDS)
+                .map(row -> row.get("course_id", String.class))
+                .all()
+                .collectList()
+                .block();
+
+        //the repository as courses-service gets it, without booting the application
+        R2dbcEntityTemplate r2dbcEntityTemplate = new R2dbcEntityTemplate(connectionFactory);
+        courseRepository = new R2dbcRepositoryFactory(r2dbcEntityTemplate)
+                .getRepository(CourseRepository.class, RepositoryFragments.just(new CourseWriteRepositoryImpl(r2dbcEntityTemplate)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Course findCourseByCourseId() {
+        String courseId = courseIds.get(next++ % courseIds.size());
+        Course course = courseRepository.findCourseByCourseId(courseId).block(Duration.ofSeconds(30));
+        if (course == null) {
+            throw new IllegalStateException("Course " + courseId + " was not found");
+        }
+        return course;
+    }
+}
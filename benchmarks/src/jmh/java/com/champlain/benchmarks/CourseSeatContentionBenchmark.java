@@ -0,0 +1,89 @@
+package com.champlain.benchmarks;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.CourseSeatCounter;
+import com.champlain.enrollmentsservice.dataaccesslayer.CourseSeatCounters;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/*
+   Registration opening on one popular course: every invocation fires `requests` seat reservations at the same
+   counter document at once (all in flight together) against an embedded mongod, and checks that exactly
+   min(requests, capacity) of them got a seat.
+
+   java -jar benchmarks/build/libs/benchmarks-1.0.0-SNAPSHOT-jmh.jar CourseSeatContention -p capacity=100,10000
+ */
+@State(Scope.Benchmark)
+public class CourseSeatContentionBenchmark {
+
+    private static final String COURSE_ID = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
+    private static final int YEAR = 2025;
+
+    @Param({"10000"})
+    public int requests;
+
+    //100 leaves most requests to be turned away, 10000 lets every one of them in
+    @Param({"100", "10000"})
+    public int capacity;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient mongoClient;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private CourseSeatCounters courseSeatCounters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        reactiveMongoTemplate = new ReactiveMongoTemplate(mongoClient, "enrollments");
+        courseSeatCounters = new CourseSeatCounters(reactiveMongoTemplate);
+    }
+
+    //every round starts from an empty course, so the first reservations also race on creating the counter
+    @Setup(Level.Invocation)
+    public void resetCounter() {
+        reactiveMongoTemplate.remove(query(where("_id").is(CourseSeatCounter.idOf(COURSE_ID, YEAR, Semester.FALL))), CourseSeatCounter.class)
+                .block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public long reserveOneCourse() {
+        long admitted = Flux.range(0, requests)
+                .flatMap(i -> courseSeatCounters.reserve(COURSE_ID, YEAR, Semester.FALL, capacity), requests)
+                .filter(Boolean::booleanValue)
+                .count()
+                .block(Duration.ofMinutes(2));
+
+        long expected = Math.min(requests, capacity);
+        if (admitted != expected) {
+            throw new IllegalStateException("Expected " + expected + " seats to be taken but got " + admitted);
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,131 @@
+package com.champlain.benchmarks;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentUpdateRepositoryImpl;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/*
+   Enrollment update and delete as they were (find by enrollmentId, then save/delete: two round trips and a
+   whole document rewrite) against findAndModify with $set / findAndRemove (one round trip), on an embedded mongod.
+
+   The delete benchmarks insert the enrollment they remove, so compare them with each other, not with the updates.
+
+   java -jar benchmarks/build/libs/benchmarks-1.0.0-SNAPSHOT-jmh.jar EnrollmentWrite
+ */
+@State(Scope.Benchmark)
+public class EnrollmentWriteBenchmark {
+
+    private static final int ENROLLMENTS = 10_000;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient mongoClient;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private EnrollmentUpdateRepositoryImpl enrollmentUpdateRepository;
+    private String[] enrollmentIds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V6_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        reactiveMongoTemplate = new ReactiveMongoTemplate(mongoClient, "enrollments");
+        enrollmentUpdateRepository = new EnrollmentUpdateRepositoryImpl(reactiveMongoTemplate);
+
+        //same unique enrollmentId index as the service, so both variants look documents up the same way
+        reactiveMongoTemplate.indexOps(Enrollment.class)
+                .ensureIndex(new Index().on("enrollmentId", Sort.Direction.ASC).unique())
+                .block();
+
+        enrollmentIds = new String[ENROLLMENTS];
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            enrollmentIds[i] = UUID.randomUUID().toString();
+        }
+        reactiveMongoTemplate.insertAll(Arrays.stream(enrollmentIds).map(EnrollmentWriteBenchmark::enrollment).toList())
+                .blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public Enrollment updateFindThenSave() {
+        Enrollment changes = changes(nextEnrollmentId());
+        return reactiveMongoTemplate.findOne(query(where("enrollmentId").is(changes.getEnrollmentId())), Enrollment.class)
+                .doOnNext(existing -> changes.setId(existing.getId()))
+                .flatMap(existing -> reactiveMongoTemplate.save(changes))
+                .block();
+    }
+
+    @Benchmark
+    public Enrollment updateFindAndModify() {
+        return enrollmentUpdateRepository.updateIfInSameCourseAndTerm(changes(nextEnrollmentId()))
+                .block();
+    }
+
+    @Benchmark
+    public Enrollment deleteFindThenRemove() {
+        Enrollment inserted = reactiveMongoTemplate.insert(enrollment(UUID.randomUUID().toString())).block();
+        return reactiveMongoTemplate.findOne(query(where("enrollmentId").is(inserted.getEnrollmentId())), Enrollment.class)
+                .flatMap(existing -> reactiveMongoTemplate.remove(existing).thenReturn(existing))
+                .block();
+    }
+
+    @Benchmark
+    public Enrollment deleteFindAndRemove() {
+        Enrollment inserted = reactiveMongoTemplate.insert(enrollment(UUID.randomUUID().toString())).block();
+        return enrollmentUpdateRepository.removeByEnrollmentId(inserted.getEnrollmentId())
+                .block();
+    }
+
+    private String nextEnrollmentId() {
+        return enrollmentIds[Math.floorMod(next.getAndIncrement(), ENROLLMENTS)];
+    }
+
+    private static Enrollment enrollment(String enrollmentId) {
+        return Enrollment.builder()
+                .enrollmentId(enrollmentId)
+                .enrollmentYear(2025)
+                .semester(Semester.FALL)
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .studentFirstName("Christine")
+                .studentLastName("Gerard")
+                .courseId("9a29fff7-564a-4cc9-8fe1-36f6ca9bc223")
+                .courseNumber("trs-075")
+                .courseName("Web Services")
+                .build();
+    }
+
+    //a renamed student, as an update that stays in the same course and term
+    private static Enrollment changes(String enrollmentId) {
+        Enrollment changes = enrollment(enrollmentId);
+        changes.setStudentLastName("Gerard-" + enrollmentId.substring(0, 4));
+        return changes;
+    }
+}
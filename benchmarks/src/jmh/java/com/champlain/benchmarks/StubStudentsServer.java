@@ -0,0 +1,78 @@
+package com.champlain.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+   In-process stand-in for students-service: answers GET /api/v1/students/row/{id} with one student after sleeping latencyMs.
+
+   Each exchange runs on its own virtual thread so the injected latency overlaps the way it would on a real server,
+   and the stub never becomes the bottleneck of the strategy being measured.
+ */
+class StubStudentsServer implements AutoCloseable {
+
+    static final String BASE_PATH = "/api/v1/students";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+
+    StubStudentsServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        this.server.createContext(BASE_PATH + "/row/", this::handleGetStudentByRowId);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    private void handleGetStudentByRowId(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String rowId = path.substring(path.lastIndexOf('/') + 1);
+
+            if (latencyMs > 0) {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+            }
+
+            byte[] body = studentJson(rowId).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String studentJson(String rowId) {
+        return "{\"studentId\":\"" + UUID.nameUUIDFromBytes(rowId.getBytes(StandardCharsets.UTF_8)) + "\","
+                + "\"firstName\":\"First" + rowId + "\","
+                + "\"lastName\":\"Last" + rowId + "\","
+                + "\"program\":\"Computer Science\","
+                + "\"stuff\":\"stuff\"}";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
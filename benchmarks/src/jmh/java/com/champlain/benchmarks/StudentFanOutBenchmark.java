@@ -0,0 +1,110 @@
+package com.champlain.benchmarks;
+
+import com.champlain.enrollmentsservice.config.HttpClientPoolProperties;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientSynchronous;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+   One benchmark per fan-out strategy of enrollments-service, each fetching the 1000 students from the stub.
+
+   The async strategies are measured from subscription to the last student (collectList().block()),
+   not just Flux assembly, so every strategy is timed over the same amount of work.
+ */
+@State(Scope.Benchmark)
+public class StudentFanOutBenchmark {
+
+    //injected latency of every /row/{id} call of the stub students endpoint
+    @Param({"0", "5"})
+    public long latencyMs;
+
+    private StubStudentsServer stub;
+    private ConnectionProvider connectionProvider;
+    private StudentServiceClientSynchronous studentServiceClientSynchronous;
+    private StudentServiceClientAsynchronous studentServiceClientAsynchronous;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stub = new StubStudentsServer(latencyMs);
+
+        //same timeouts and pool limits as ServiceClientConfig: the HttpClientPoolProperties defaults, which
+        //app.students-service.pool in application.yml keeps as is, and the default virtual thread concurrency
+        HttpClientPoolProperties pool = new HttpClientPoolProperties();
+
+        var requestFactory = new JdkClientHttpRequestFactory(java.net.http.HttpClient.newBuilder()
+                .connectTimeout(pool.getConnectTimeout())
+                .build());
+        requestFactory.setReadTimeout(pool.getResponseTimeout());
+        studentServiceClientSynchronous = new StudentServiceClientSynchronous(stub.baseUrl(), new RestTemplate(requestFactory), new ObjectMapper(), 200);
+
+        connectionProvider = ConnectionProvider.builder("benchmark-students-service")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .build();
+        var webClient = WebClient.builder()
+                .baseUrl(stub.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                        .responseTimeout(pool.getResponseTimeout())
+                        .keepAlive(pool.isKeepAlive())))
+                .build();
+        studentServiceClientAsynchronous = new StudentServiceClientAsynchronous(webClient);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.disposeLater().block();
+        stub.close();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> syncLoop() {
+        return studentServiceClientSynchronous.get1000StudentsLoop();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> syncParallel() {
+        return studentServiceClientSynchronous.get1000StudentsSyncParallel();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> syncVirtual() {
+        return studentServiceClientSynchronous.get1000StudentsSyncVirtual();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> async() {
+        return studentServiceClientAsynchronous.get1000StudentsAsync().collectList().block();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> asyncParallel() {
+        return studentServiceClientAsynchronous.get1000StudentsAsyncParallel().collectList().block();
+    }
+
+    @Benchmark
+    public List<StudentResponseModel> asyncBounded() {
+        return studentServiceClientAsynchronous.get1000StudentsAsyncBounded().collectList().block();
+    }
+}
@@ -1,15 +1,21 @@
 package com.champlain.courseservice.businesslayer;
 
 
+import com.champlain.courseservice.presentationlayer.CoursePageResponseModel;
 import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface CourseService {
     Flux<CourseResponseModel> getAllCourses();
+    Mono<CoursePageResponseModel> getCoursesPage(Integer afterId, int limit, String department, String courseNumberPrefix);
     Mono<CourseResponseModel> getCourseByCourseId(String id);
+    Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds);
     Mono<CourseResponseModel> addCourse(Mono<CourseRequestModel> courseRequestModel);
     Mono<CourseResponseModel> updateCourseByCourseId(Mono<CourseRequestModel> courseRequestModel, String courseId);
+    Mono<CourseResponseModel> updateCourseByCourseId(Mono<CourseRequestModel> courseRequestModel, String courseId, Integer expectedVersion);
     Mono<CourseResponseModel> deleteCourseByCourseId(String courseId);
 }
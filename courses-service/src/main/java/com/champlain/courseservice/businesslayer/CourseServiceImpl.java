@@ -1,23 +1,35 @@
 package com.champlain.courseservice.businesslayer;
 
+import com.champlain.courseservice.dataaccesslayer.Course;
 import com.champlain.courseservice.dataaccesslayer.CourseRepository;
 import com.champlain.courseservice.exceptionhandling.exceptions.CourseNotFoundException;
+import com.champlain.courseservice.exceptionhandling.exceptions.CourseVersionConflictException;
 import com.champlain.courseservice.mapper.EntityModelMapper;
+import com.champlain.courseservice.presentationlayer.CoursePageResponseModel;
 import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 @Service
 @Slf4j
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
 
-    public CourseServiceImpl(CourseRepository courseRepository) {
+    public CourseServiceImpl(CourseRepository courseRepository, R2dbcEntityTemplate r2dbcEntityTemplate) {
         this.courseRepository = courseRepository;
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
     }
 
     @Override
@@ -26,6 +38,35 @@ public class CourseServiceImpl implements CourseService {
                 .map(EntityModelMapper::toModel);
     }
 
+    @Override
+    public Mono<CoursePageResponseModel> getCoursesPage(Integer afterId, int limit, String department, String courseNumberPrefix) {
+        //keyset pagination: WHERE id > afterId ORDER BY id LIMIT n, so a deep page costs the same as the first one
+        Criteria criteria = Criteria.empty();
+        if (afterId != null) {
+            criteria = criteria.and("id").greaterThan(afterId);
+        }
+        if (department != null && !department.isBlank()) {
+            criteria = criteria.and("department").is(department);
+        }
+        if (courseNumberPrefix != null && !courseNumberPrefix.isBlank()) {
+            criteria = criteria.and("courseNumber").like(escapeLike(courseNumberPrefix) + "%");
+        }
+
+        //one extra row tells us whether there is a next page without a count(*)
+        return r2dbcEntityTemplate.select(Query.query(criteria).sort(Sort.by("id")).limit(limit + 1), Course.class)
+                .collectList()
+                .map(courses -> {
+                    boolean hasMore = courses.size() > limit;
+                    List<Course> page = hasMore ? courses.subList(0, limit) : courses;
+                    Integer nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+                    return new CoursePageResponseModel(page.stream().map(EntityModelMapper::toModel).toList(), nextCursor);
+                });
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Override
     public Mono<CourseResponseModel> getCourseByCourseId(String courseId) {
         return courseRepository.findCourseByCourseId(courseId)
@@ -35,6 +76,16 @@ public class CourseServiceImpl implements CourseService {
                 .log();
     }
 
+    @Override
+    public Flux<CourseResponseModel> getCoursesByCourseIds(Collection<String> courseIds) {
+        //an empty IN () list is not valid SQL, so skip the query altogether
+        if (courseIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return courseRepository.findAllByCourseIdIn(courseIds)
+                .map(EntityModelMapper::toModel);
+    }
+
     @Override
     public Mono<CourseResponseModel> addCourse(Mono<CourseRequestModel> courseRequestModel) {
         return courseRequestModel
@@ -46,22 +97,30 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public Mono<CourseResponseModel> updateCourseByCourseId(Mono<CourseRequestModel> courseRequestModel, String courseId) {
-        return courseRepository.findCourseByCourseId(courseId)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new CourseNotFoundException("Course id not found: " + courseId))))
-                .flatMap( s -> courseRequestModel
-                        .map(EntityModelMapper::toEntity)
-                        .doOnNext(e -> e.setCourseId(s.getCourseId()))
-                .doOnNext(e -> e.setId(s.getId())))
-                .flatMap(courseRepository::save)
+        return updateCourseByCourseId(courseRequestModel, courseId, null);
+    }
+
+    @Override
+    public Mono<CourseResponseModel> updateCourseByCourseId(Mono<CourseRequestModel> courseRequestModel, String courseId, Integer expectedVersion) {
+        //a single UPDATE ... RETURNING, see CourseWriteRepository
+        return courseRequestModel
+                .map(EntityModelMapper::toEntity)
+                .doOnNext(e -> e.setCourseId(courseId))
+                .flatMap(e -> courseRepository.updateByCourseIdReturning(e, expectedVersion))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.error(new CourseNotFoundException("Course id not found: " + courseId))
+                        //nothing updated: only now is it worth a second query to tell a stale version from a missing course
+                        : courseRepository.existsByCourseId(courseId)
+                                .flatMap(exists -> Mono.error(exists
+                                        ? new CourseVersionConflictException(courseId, expectedVersion)
+                                        : new CourseNotFoundException("Course id not found: " + courseId)))))
                 .map(EntityModelMapper::toModel);
     }
 
     @Override
     public Mono<CourseResponseModel> deleteCourseByCourseId(String courseId) {
-        return courseRepository.findCourseByCourseId(courseId)
+        return courseRepository.deleteByCourseIdReturning(courseId)
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new CourseNotFoundException("Course id not found: " + courseId))))
-                .flatMap(existingCourse -> courseRepository.delete(existingCourse)
-                        .then(Mono.just(existingCourse)))
-                        .map(EntityModelMapper::toModel);
+                .map(EntityModelMapper::toModel);
     }
 }
\ No newline at end of file
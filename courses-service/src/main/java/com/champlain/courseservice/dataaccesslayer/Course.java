@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -36,5 +37,14 @@ public class Course {
     @Column("department")
     private String department;
 
+    //seats per (year, semester), null means no limit
+    @Column("capacity")
+    private Integer capacity;
+
+    //incremented by every update, see CourseWriteRepository
+    @Version
+    @Column("version")
+    private Integer version;
+
 }
 
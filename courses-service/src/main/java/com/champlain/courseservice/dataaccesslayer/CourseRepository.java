@@ -3,10 +3,17 @@ package com.champlain.courseservice.dataaccesslayer;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 @Repository
-public interface CourseRepository extends ReactiveCrudRepository<Course,Integer> {
+public interface CourseRepository extends ReactiveCrudRepository<Course,Integer>, CourseWriteRepository {
 
     Mono<Course> findCourseByCourseId(String courseId);
+
+    Mono<Boolean> existsByCourseId(String courseId);
+
+    Flux<Course> findAllByCourseIdIn(Collection<String> courseIds);
 }
@@ -0,0 +1,13 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import reactor.core.publisher.Mono;
+
+//writes that return the affected row from the same statement, keyed by courseId
+public interface CourseWriteRepository {
+
+    //updated course, empty when there is no course with that courseId (or, with an expectedVersion, not at that version)
+    Mono<Course> updateByCourseIdReturning(Course course, Integer expectedVersion);
+
+    //deleted course, empty when there is no course with that courseId
+    Mono<Course> deleteByCourseIdReturning(String courseId);
+}
@@ -0,0 +1,65 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/*
+   UPDATE/DELETE ... RETURNING *: one round trip instead of a select followed by a save or delete, and no window
+   between the two for another write to be lost. H2 has no RETURNING, the same single statement is written there
+   as a select from the FINAL TABLE (new rows) or OLD TABLE (removed rows) of the update or delete.
+ */
+public class CourseWriteRepositoryImpl implements CourseWriteRepository {
+
+    private static final String SET_COLUMNS = "course_number = :courseNumber, course_name = :courseName, num_hours = :numHours, "
+            + "num_credits = :numCredits, department = :department, capacity = :capacity, version = version + 1";
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final boolean returning;
+
+    public CourseWriteRepositoryImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        //resolved once, the same way spring boot resolves the dialect of the R2dbcEntityTemplate
+        R2dbcDialect dialect = DialectResolver.getDialect(r2dbcEntityTemplate.getDatabaseClient().getConnectionFactory());
+        this.returning = !(dialect instanceof H2Dialect);
+    }
+
+    @Override
+    public Mono<Course> updateByCourseIdReturning(Course course, Integer expectedVersion) {
+        String update = "UPDATE courses SET " + SET_COLUMNS + " WHERE course_id = :courseId"
+                + (expectedVersion != null ? " AND version = :expectedVersion" : "");
+        DatabaseClient.GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient()
+                .sql(returning ? update + " RETURNING *" : "SELECT * FROM FINAL TABLE (" + update + ")")
+                .bind("courseId", course.getCourseId());
+        spec = bind(spec, "courseNumber", course.getCourseNumber(), String.class);
+        spec = bind(spec, "courseName", course.getCourseName(), String.class);
+        spec = bind(spec, "numHours", course.getNumHours(), Integer.class);
+        spec = bind(spec, "numCredits", course.getNumCredits(), Double.class);
+        spec = bind(spec, "department", course.getDepartment(), String.class);
+        spec = bind(spec, "capacity", course.getCapacity(), Integer.class);
+        if (expectedVersion != null) {
+            spec = spec.bind("expectedVersion", expectedVersion);
+        }
+        return toCourse(spec);
+    }
+
+    @Override
+    public Mono<Course> deleteByCourseIdReturning(String courseId) {
+        String delete = "DELETE FROM courses WHERE course_id = :courseId";
+        return toCourse(r2dbcEntityTemplate.getDatabaseClient()
+                .sql(returning ? delete + " RETURNING *" : "SELECT * FROM OLD TABLE (" + delete + ")")
+                .bind("courseId", courseId));
+    }
+
+    private Mono<Course> toCourse(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map((row, metadata) -> r2dbcEntityTemplate.getConverter().read(Course.class, row, metadata))
+                .one();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
@@ -37,6 +37,10 @@ public class ApplicationExceptions {
         return Mono.error(new InvalidInputException("Course hours must be greater than 0"));
     }
 
+    public static <T> Mono<T> invalidCourseCapacity() {
+        return Mono.error(new InvalidInputException("Course capacity must be greater than 0 when given"));
+    }
+
     public static <T> Mono<T> invalidCourseId(String courseId) {
         return Mono.error(new InvalidCourseIdException(courseId));
     }
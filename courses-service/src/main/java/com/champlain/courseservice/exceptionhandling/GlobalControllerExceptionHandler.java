@@ -1,6 +1,7 @@
 package com.champlain.courseservice.exceptionhandling;
 
 import com.champlain.courseservice.exceptionhandling.exceptions.CourseNotFoundException;
+import com.champlain.courseservice.exceptionhandling.exceptions.CourseVersionConflictException;
 import com.champlain.courseservice.exceptionhandling.exceptions.InvalidCourseIdException;
 import com.champlain.courseservice.exceptionhandling.exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -23,6 +25,12 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(NOT_FOUND, request, ex);
     }
 
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(CourseVersionConflictException.class)
+    public HttpErrorInfo handleCourseVersionConflictException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
     @ResponseStatus(UNPROCESSABLE_ENTITY)
     @ExceptionHandler(InvalidInputException.class)
     public HttpErrorInfo handleInvalidInputException(ServerHttpRequest request, Exception ex) {
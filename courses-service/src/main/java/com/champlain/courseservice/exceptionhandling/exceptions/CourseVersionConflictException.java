@@ -0,0 +1,12 @@
+package com.champlain.courseservice.exceptionhandling.exceptions;
+
+public class CourseVersionConflictException extends RuntimeException{
+
+    private static final String MESSAGE = "Course with id=%s is no longer at version %d";
+
+    public CourseVersionConflictException() {}
+
+    public CourseVersionConflictException(String courseId, Integer expectedVersion) { super(MESSAGE.formatted(courseId, expectedVersion)); }
+
+    public CourseVersionConflictException(Throwable cause) { super(cause); }
+}
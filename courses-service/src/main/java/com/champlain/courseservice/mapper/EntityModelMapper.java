@@ -15,7 +15,9 @@ public class EntityModelMapper {
                 course.getCourseName(),
                 course.getNumHours(),
                 course.getNumCredits(),
-                course.getDepartment()
+                course.getDepartment(),
+                course.getCapacity(),
+                course.getVersion()
         );
     }
 
@@ -27,6 +29,7 @@ public class EntityModelMapper {
         course.setNumHours(courseRequestModel.numHours());
         course.setNumCredits(courseRequestModel.numCredits());
         course.setDepartment(courseRequestModel.department());
+        course.setCapacity(courseRequestModel.capacity());
         return course;
 
     }
@@ -4,6 +4,7 @@ import com.champlain.courseservice.businesslayer.CourseService;
 import com.champlain.courseservice.exceptionhandling.exceptions.InvalidInputException;
 import com.champlain.courseservice.validation.RequestValidator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,10 +12,17 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @Slf4j
 @RequestMapping("api/v1/courses")
 public class CourseController {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CourseService courseService;
     public CourseController(CourseService courseService) {
         this.courseService = courseService;
@@ -25,6 +33,18 @@ public class CourseController {
         return courseService.getAllCourses();
     }
 
+    //pass the nextCursor of a page as afterId to get the following one
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CoursePageResponseModel> getCoursesPage(@RequestParam(required = false) Integer afterId,
+                                                        @RequestParam(defaultValue = "20") int limit,
+                                                        @RequestParam(required = false) String department,
+                                                        @RequestParam(required = false) String courseNumberPrefix) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return courseService.getCoursesPage(afterId, limit, department, courseNumberPrefix);
+    }
+
 
     @GetMapping(value = "/{courseId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<CourseResponseModel>> getCourseByCourseId(@PathVariable String courseId) {
@@ -36,6 +56,17 @@ public class CourseController {
 
     }
 
+    //only the courses that exist are returned, unknown ids are silently skipped
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<CourseResponseModel> getCoursesByCourseIds(@RequestBody Mono<List<String>> courseIds) {
+        return courseIds
+                .filter(ids -> ids.size() <= MAX_BATCH_SIZE)
+                .switchIfEmpty(Mono.error(new InvalidInputException("At most " + MAX_BATCH_SIZE + " course ids can be requested at once")))
+                .filter(ids -> ids.stream().allMatch(id -> id != null && id.length() == 36))
+                .switchIfEmpty(Mono.error(new InvalidInputException("Every courseId in the batch must be 36 characters")))
+                .flatMapMany(ids -> courseService.getCoursesByCourseIds(new LinkedHashSet<>(ids)));
+    }
+
     @PostMapping()
     public Mono<ResponseEntity<CourseResponseModel>> addCourse(@RequestBody Mono<CourseRequestModel> courseRequestModel) {
         return courseRequestModel.transform(RequestValidator.validateBody())
@@ -44,13 +75,18 @@ public class CourseController {
     }
 
     @PutMapping(value="/{courseId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<CourseResponseModel>> updateCourseByCourseId(@RequestBody Mono<CourseRequestModel> courseRequestModel, @PathVariable String courseId) {
+    public Mono<ResponseEntity<CourseResponseModel>> updateCourseByCourseId(@RequestBody Mono<CourseRequestModel> courseRequestModel, @PathVariable String courseId,
+                                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        //If-Match: "<version>" only updates the course if it is still at that version, 409 otherwise
         return Mono.just(courseId)
                 .filter(id -> id.length()==36)
                 .switchIfEmpty(Mono.error(new InvalidInputException("Invalid courseId: " + courseId)))
-                .flatMap(id -> courseRequestModel
-                        .transform(RequestValidator.validateBody())
-                        .as(request -> courseService.updateCourseByCourseId(request, id)))
+                .flatMap(id -> toExpectedVersion(ifMatch)
+                        .flatMap(expectedVersion -> courseRequestModel
+                                .transform(RequestValidator.validateBody())
+                                .as(request -> expectedVersion.isEmpty()
+                                        ? courseService.updateCourseByCourseId(request, id)
+                                        : courseService.updateCourseByCourseId(request, id, expectedVersion.get()))))
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
@@ -64,4 +100,16 @@ public class CourseController {
                 .map(ResponseEntity::ok)
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
-}
\ No newline at end of file
+
+    //empty when there is no If-Match, an error signal (not a throw) when it isn't a version
+    private static Mono<Optional<Integer>> toExpectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return Mono.just(Optional.empty());
+        }
+        try {
+            return Mono.just(Optional.of(Integer.valueOf(ifMatch.replace("W/", "").replace("\"", "").trim())));
+        } catch (NumberFormatException ex) {
+            return Mono.error(new InvalidInputException("If-Match must be a course version: " + ifMatch));
+        }
+    }
+}
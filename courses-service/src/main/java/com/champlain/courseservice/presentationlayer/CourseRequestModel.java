@@ -4,5 +4,11 @@ public record CourseRequestModel(String courseNumber,
                                  String courseName,
                                  Integer numHours,
                                  Double numCredits,
-                                 String department) {
+                                 String department,
+                                 Integer capacity) {
+
+    //a course without a seat limit
+    public CourseRequestModel(String courseNumber, String courseName, Integer numHours, Double numCredits, String department) {
+        this(courseNumber, courseName, numHours, numCredits, department, null);
+    }
 }
@@ -5,5 +5,13 @@ public record CourseResponseModel(String courseId,
                                   String courseName,
                                   Integer numHours,
                                   Double numCredits,
-                                  String department) {
+                                  String department,
+                                  Integer capacity,
+                                  //send back as If-Match to only update the course if nobody changed it since
+                                  Integer version) {
+
+    //a course without a seat limit
+    public CourseResponseModel(String courseId, String courseNumber, String courseName, Integer numHours, Double numCredits, String department) {
+        this(courseId, courseNumber, courseName, numHours, numCredits, department, null, null);
+    }
 }
@@ -22,7 +22,9 @@ public class RequestValidator {
                 .filter(hasNumHours())
                 .switchIfEmpty(ApplicationExceptions.missingNumHours())
                 .filter(hasValidHours())
-                .switchIfEmpty(ApplicationExceptions.invalidCourseHours());
+                .switchIfEmpty(ApplicationExceptions.invalidCourseHours())
+                .filter(hasValidCapacity())
+                .switchIfEmpty(ApplicationExceptions.invalidCourseCapacity());
     }
 
     private static Predicate<CourseRequestModel> hasCourseNumber(){
@@ -50,4 +52,8 @@ public class RequestValidator {
     private static Predicate<CourseRequestModel> hasValidHours(){
         return courseRequestModel -> courseRequestModel.numHours() > 0;
     }
+
+    private static Predicate<CourseRequestModel> hasValidCapacity(){
+        return courseRequestModel -> courseRequestModel.capacity() == null || courseRequestModel.capacity() > 0;
+    }
 }
\ No newline at end of file
@@ -2,11 +2,18 @@ DROP TABLE IF EXISTS courses;
 
 CREATE TABLE IF NOT EXISTS courses (
     id SERIAL,
-    course_id VARCHAR(36),
+    course_id VARCHAR(36) NOT NULL UNIQUE,
     course_number VARCHAR(7),
     course_name VARCHAR(100),
     num_hours SMALLINT,
     num_credits DECIMAL(19,2),
     department VARCHAR(50),
+    -- seats per (year, semester), NULL means the course has no limit
+    capacity INTEGER,
+    version INTEGER NOT NULL DEFAULT 0,
     PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+-- keyset pagination walks the primary key, the filters below narrow it down first
+CREATE INDEX IF NOT EXISTS idx_courses_department_id ON courses (department, id);
+CREATE INDEX IF NOT EXISTS idx_courses_course_number ON courses (course_number, id);
@@ -7,6 +7,7 @@ import com.champlain.courseservice.presentationlayer.CourseRequestModel;
 import com.champlain.courseservice.presentationlayer.CourseResponseModel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,11 +15,16 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -140,6 +146,30 @@ public class CourseServiceUnitTest {
                 .verify();
     }
 
+    @Test
+    void getCoursesByCourseIds_withExistingIds_thenReturnFoundCourses() {
+        // Arrange
+        List<String> courseIds = List.of(course1.getCourseId(), course2.getCourseId(), UUID.randomUUID().toString());
+        when(courseRepository.findAllByCourseIdIn(courseIds))
+                .thenReturn(Flux.just(course1, course2));
+
+        // Act & Assert
+        StepVerifier
+                .create(courseService.getCoursesByCourseIds(courseIds))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.courseId().equals(course1.getCourseId()))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.courseId().equals(course2.getCourseId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getCoursesByCourseIds_withNoIds_thenReturnEmptyWithoutQuery() {
+        StepVerifier
+                .create(courseService.getCoursesByCourseIds(List.of()))
+                .verifyComplete();
+
+        verifyNoInteractions(courseRepository);
+    }
+
     @Test
     void updateCourseByCourseId_withExistingCourseId_thenReturnUpdatedCourseResponseModel() {
         // Arrange
@@ -161,9 +191,7 @@ public class CourseServiceUnitTest {
                 .department(updateRequest.department())
                 .build();
 
-        when(courseRepository.findCourseByCourseId(course1.getCourseId()))
-                .thenReturn(Mono.just(course1));
-        when(courseRepository.save(any(Course.class)))
+        when(courseRepository.updateByCourseIdReturning(any(Course.class), isNull()))
                 .thenReturn(Mono.just(updatedCourse));
 
         // Act
@@ -188,7 +216,7 @@ public class CourseServiceUnitTest {
         CourseRequestModel updateRequest = new CourseRequestModel(
                 "cat-999", "Non-existing", 45, 3.0, "Computer Science");
 
-        when(courseRepository.findCourseByCourseId(nonExistingId))
+        when(courseRepository.updateByCourseIdReturning(any(Course.class), isNull()))
                 .thenReturn(Mono.empty());
 
         // Act & Assert
@@ -201,10 +229,8 @@ public class CourseServiceUnitTest {
     @Test
     void deleteCourseByCourseId_withExistingCourseId_ReturnsDeletedCourseId() {
         // Arrange
-        when(courseRepository.findCourseByCourseId(course1.getCourseId()))
+        when(courseRepository.deleteByCourseIdReturning(course1.getCourseId()))
                 .thenReturn(Mono.just(course1));
-        when(courseRepository.delete(course1))
-                .thenReturn(Mono.empty());
 
         // Act
         Mono<CourseResponseModel> result = courseService.deleteCourseByCourseId(course1.getCourseId());
@@ -223,7 +249,7 @@ public class CourseServiceUnitTest {
     void deleteCourseByCourseId_withNonExistingCourseId_thenThrowNotFoundException() {
         // Arrange
         String nonExistingId = UUID.randomUUID().toString();
-        when(courseRepository.findCourseByCourseId(nonExistingId))
+        when(courseRepository.deleteByCourseIdReturning(nonExistingId))
                 .thenReturn(Mono.empty());
 
         // Act & Assert
@@ -232,4 +258,73 @@ public class CourseServiceUnitTest {
                 .expectError(NotFoundException.class)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void addCourse_withCapacity_thenSaveAndReturnIt() {
+        // Arrange
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-420", "Web Services", 45, 3.0, "Computer Science", 30);
+        when(courseRepository.save(any(Course.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier
+                .create(courseService.addCourse(Mono.just(courseRequestModel)))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.capacity() == 30)
+                .verifyComplete();
+
+        ArgumentCaptor<Course> saved = ArgumentCaptor.forClass(Course.class);
+        verify(courseRepository).save(saved.capture());
+        assertEquals(30, saved.getValue().getCapacity());
+    }
+
+    @Test
+    void addCourse_withoutCapacity_thenSaveACourseWithoutSeatLimit() {
+        // Arrange
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-420", "Web Services", 45, 3.0, "Computer Science", null);
+        when(courseRepository.save(any(Course.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier
+                .create(courseService.addCourse(Mono.just(courseRequestModel)))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.capacity() == null)
+                .verifyComplete();
+
+        ArgumentCaptor<Course> saved = ArgumentCaptor.forClass(Course.class);
+        verify(courseRepository).save(saved.capture());
+        assertNull(saved.getValue().getCapacity());
+    }
+
+    @Test
+    void updateCourseByCourseId_withCapacity_thenWriteTheNewCapacity() {
+        // Arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-420", "Web Services", 45, 3.0, "Computer Science", 25);
+        when(courseRepository.updateByCourseIdReturning(any(Course.class), isNull()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier
+                .create(courseService.updateCourseByCourseId(Mono.just(updateRequest), course1.getCourseId()))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.capacity() == 25
+                        && courseResponseModel.courseId().equals(course1.getCourseId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateCourseByCourseId_withoutCapacity_thenRemoveTheSeatLimit() {
+        // Arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-420", "Web Services", 45, 3.0, "Computer Science", null);
+        when(courseRepository.updateByCourseIdReturning(any(Course.class), isNull()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier
+                .create(courseService.updateCourseByCourseId(Mono.just(updateRequest), course1.getCourseId()))
+                .expectNextMatches(courseResponseModel -> courseResponseModel.capacity() == null)
+                .verifyComplete();
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.ActiveProfiles;
 import reactor.test.StepVerifier;
@@ -59,6 +60,37 @@ public class CourseRepositoryIntegrationTest {
 
 
     }
+    @Test
+    void saveCourse_withDuplicateCourseId_shouldFail() {
+        //Arrange
+        String courseId = UUID.randomUUID().toString();
+        Course course = Course.builder()
+                .courseId(courseId)
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+        Course duplicate = Course.builder()
+                .courseId(courseId)
+                .courseNumber("cat-421")
+                .courseName("Web Services 2")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .build();
+
+        //Act & Assert
+        StepVerifier.create(courseRepository.save(course))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(courseRepository.save(duplicate))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
     @Test
     void findCourseByCourseId_shouldFailWhenNonExistingId() {
         // Arrange
@@ -0,0 +1,131 @@
+package com.champlain.courseservice.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+   The UPDATE/DELETE ... RETURNING statements of CourseWriteRepositoryImpl against a real PostgreSQL, with the
+   schema-psql.sql of the docker profile; the test profile runs on H2, which only exercises the FINAL/OLD TABLE form.
+   Skipped when docker is not available.
+ */
+@DataR2dbcTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.sql.init.platform=psql",
+        "spring.sql.init.mode=always"
+})
+public class CourseWriteRepositoryPostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = Course.builder()
+                .courseId(UUID.randomUUID().toString())
+                .courseNumber("cat-420")
+                .courseName("Web Services")
+                .numHours(45)
+                .numCredits(3.0)
+                .department("Computer Science")
+                .capacity(30)
+                .build();
+
+        StepVerifier.create(courseRepository.deleteAll().then(courseRepository.save(course)))
+                .expectNextMatches(saved -> saved.getVersion() == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateByCourseIdReturning_withoutExpectedVersion_shouldReturnTheUpdatedRow() {
+        //Arrange
+        Course changes = changesOf(course.getCourseId());
+
+        //Act & Assert
+        StepVerifier.create(courseRepository.updateByCourseIdReturning(changes, null))
+                .expectNextMatches(updated -> {
+                    assertEquals(course.getId(), updated.getId());
+                    assertEquals("Advanced Web Services", updated.getCourseName());
+                    assertEquals(3.5, updated.getNumCredits());
+                    assertEquals(25, updated.getCapacity());
+                    assertEquals(1, updated.getVersion());
+                    return true;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void updateByCourseIdReturning_withNullCapacity_shouldRemoveTheSeatLimit() {
+        //Arrange
+        Course changes = changesOf(course.getCourseId());
+        changes.setCapacity(null);
+
+        //Act & Assert
+        StepVerifier.create(courseRepository.updateByCourseIdReturning(changes, 0))
+                .expectNextMatches(updated -> updated.getCapacity() == null && updated.getVersion() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateByCourseIdReturning_withStaleExpectedVersion_shouldUpdateNothing() {
+        //Arrange
+        Course changes = changesOf(course.getCourseId());
+
+        //Act & Assert
+        StepVerifier.create(courseRepository.updateByCourseIdReturning(changes, 0)
+                        .then(courseRepository.updateByCourseIdReturning(changes, 0)))
+                .verifyComplete();
+
+        StepVerifier.create(courseRepository.findCourseByCourseId(course.getCourseId()))
+                .expectNextMatches(found -> found.getVersion() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateByCourseIdReturning_withNonExistingCourseId_shouldBeEmpty() {
+        StepVerifier.create(courseRepository.updateByCourseIdReturning(changesOf(UUID.randomUUID().toString()), null))
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteByCourseIdReturning_shouldReturnTheDeletedRow() {
+        //Act & Assert
+        StepVerifier.create(courseRepository.deleteByCourseIdReturning(course.getCourseId()))
+                .expectNextMatches(deleted -> deleted.getCourseId().equals(course.getCourseId()) && deleted.getCapacity() == 30)
+                .verifyComplete();
+
+        StepVerifier.create(courseRepository.existsByCourseId(course.getCourseId()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    private static Course changesOf(String courseId) {
+        return Course.builder()
+                .courseId(courseId)
+                .courseNumber("cat-421")
+                .courseName("Advanced Web Services")
+                .numHours(60)
+                .numCredits(3.5)
+                .department("Computer Science")
+                .capacity(25)
+                .build();
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
@@ -19,6 +20,7 @@ import reactor.test.StepVerifier;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -204,6 +206,96 @@ public class CourseControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void getCoursesByCourseIds_shouldReturnOnlyExistingCourses() {
+        List<String> courseIds = List.of(
+                "275c1138-0190-426e-94d4-4aaeb838acac",
+                "d15b31e2-a583-49f7-921a-71f87e301bd6",
+                UUID.randomUUID().toString());
+
+        webTestClient
+                .post()
+                .uri("/api/v1/courses/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(courseIds)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CourseResponseModel.class)
+                .value(courses -> {
+                    assertEquals(2, courses.size());
+                    assertTrue(courses.stream().allMatch(c -> courseIds.contains(c.courseId())));
+                });
+    }
+
+    @Test
+    void getCoursesByCourseIds_withInvalidId_shouldReturnUnProcessableEntity() {
+        webTestClient
+                .post()
+                .uri("/api/v1/courses/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("invalid-id-format"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void getCoursesPage_followingNextCursor_shouldWalkTheFilteredCourses() {
+        CoursePageResponseModel firstPage = webTestClient
+                .get()
+                .uri("/api/v1/courses/page?department={department}&limit=100", "Math")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CoursePageResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(firstPage);
+        assertEquals(100, firstPage.courses().size());
+        assertNotNull(firstPage.nextCursor());
+        assertTrue(firstPage.courses().stream().allMatch(c -> "Math".equals(c.department())));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/page?department={department}&limit=100&afterId={afterId}", "Math", firstPage.nextCursor())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CoursePageResponseModel.class)
+                .value(secondPage -> {
+                    assertEquals(82, secondPage.courses().size());
+                    assertNull(secondPage.nextCursor());
+                    assertTrue(secondPage.courses().stream().noneMatch(firstPage.courses()::contains));
+                });
+    }
+
+    @Test
+    void getCoursesPage_withCourseNumberPrefix_shouldOnlyReturnMatchingCourses() {
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/page?courseNumberPrefix=fak&limit=5")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CoursePageResponseModel.class)
+                .value(page -> {
+                    assertFalse(page.courses().isEmpty());
+                    assertTrue(page.courses().stream().allMatch(c -> c.courseNumber().startsWith("fak")));
+                });
+    }
+
+    @Test
+    void getCoursesPage_withLimitTooLarge_shouldReturnUnProcessableEntity() {
+        webTestClient
+                .get()
+                .uri("/api/v1/courses/page?limit=1000")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @Test
     void getAllCourses_whenNoCourses_shouldReturnEmptyStream() {
         // This test would need to clear the database first
@@ -433,4 +525,100 @@ public class CourseControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void addNewCourse_withCapacity_shouldReturnIt() {
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-424", "Limited Course", 45, 3.0, "Computer Science", 30);
+
+        webTestClient
+                .post()
+                .uri("/api/v1/courses")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(courseRequestModel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CourseResponseModel.class)
+                .value(courseResponseModel -> assertEquals(30, courseResponseModel.capacity()));
+    }
+
+    @Test
+    void addNewCourse_withZeroCapacity_shouldReturnUnProcessableEntity() {
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-424", "Limited Course", 45, 3.0, "Computer Science", 0);
+
+        webTestClient
+                .post()
+                .uri("/api/v1/courses")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(courseRequestModel)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(HttpErrorInfo.class)
+                .value(errorInfo -> assertEquals("Course capacity must be greater than 0 when given", errorInfo.getMessage()));
+    }
+
+    @Test
+    void updateCourse_withCurrentIfMatch_shouldSucceedAndBumpTheVersion() {
+        CourseResponseModel created = createCourse();
+
+        putCourse(created.courseId(), "\"" + created.version() + "\"")
+                .expectStatus().isOk()
+                .expectBody(CourseResponseModel.class)
+                .value(courseResponseModel -> assertEquals(created.version() + 1, courseResponseModel.version()));
+    }
+
+    @Test
+    void updateCourse_withStaleIfMatch_shouldReturnConflict() {
+        CourseResponseModel created = createCourse();
+        putCourse(created.courseId(), "\"" + created.version() + "\"").expectStatus().isOk();
+
+        //same If-Match again: the course moved on to the next version in between
+        putCourse(created.courseId(), "\"" + created.version() + "\"")
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(HttpErrorInfo.class)
+                .value(errorInfo -> assertTrue(errorInfo.getMessage().contains("is no longer at version " + created.version())));
+    }
+
+    @Test
+    void updateCourse_withMalformedIfMatch_shouldReturnUnProcessableEntity() {
+        CourseResponseModel created = createCourse();
+
+        putCourse(created.courseId(), "\"abc\"")
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(HttpErrorInfo.class)
+                .value(errorInfo -> assertTrue(errorInfo.getMessage().startsWith("If-Match must be a course version")));
+    }
+
+    @Test
+    void updateCourse_withIfMatchOnNonExistingCourseId_shouldReturnNotFound() {
+        putCourse(UUID.randomUUID().toString(), "\"0\"")
+                .expectStatus().isNotFound();
+    }
+
+    private CourseResponseModel createCourse() {
+        return webTestClient
+                .post()
+                .uri("/api/v1/courses")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CourseRequestModel("cat-425", "Versioned Course", 45, 3.0, "Computer Science"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CourseResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec putCourse(String courseId, String ifMatch) {
+        return webTestClient
+                .put()
+                .uri("/api/v1/courses/{courseId}", courseId)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CourseRequestModel("cat-426", "Versioned Course v2", 60, 4.0, "Computer Science"))
+                .exchange();
+    }
 }
@@ -2,9 +2,13 @@ package com.champlain.courseservice.presentationlayer;
 
 
 import com.champlain.courseservice.businesslayer.CourseService;
+import com.champlain.courseservice.exceptionhandling.exceptions.CourseVersionConflictException;
 import com.champlain.courseservice.exceptionhandling.exceptions.InvalidInputException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -157,7 +163,7 @@ public class CourseControllerUnitTest {
 
         //act
         Mono<ResponseEntity<CourseResponseModel>> result =
-                courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID);
+                courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID, null);
 
         //assert
         StepVerifier.create(result)
@@ -180,7 +186,7 @@ public class CourseControllerUnitTest {
 
         //act and assert
         StepVerifier.create(courseController.updateCourseByCourseId(
-                        Mono.just(updateRequest), INVALID_COURSE_ID))
+                        Mono.just(updateRequest), INVALID_COURSE_ID, null))
                 .expectErrorMatches(e -> e instanceof InvalidInputException &&
                         e.getMessage().contains("Course Id is invalid"))
                 .verify();
@@ -225,4 +231,120 @@ public class CourseControllerUnitTest {
                         e.getMessage().contains("Course Id is invalid"))
                 .verify();
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -5})
+    public void whenAddCourse_withCapacityNotPositive_thenThrowInvalidInputException(int capacity) {
+        //arrange
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-423", "Web Services Testing", 45, 3.0, "Computer Science", capacity);
+
+        //act and assert
+        StepVerifier.create(courseController.addCourse(Mono.just(courseRequestModel)))
+                .expectErrorMatches(e -> e instanceof InvalidInputException &&
+                        e.getMessage().equals("Course capacity must be greater than 0 when given"))
+                .verify();
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    public void whenAddCourse_withoutCapacity_thenTheCourseHasNoSeatLimit() {
+        //arrange
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-423", "Web Services Testing", 45, 3.0, "Computer Science", null);
+        when(courseService.addCourse(any(Mono.class)))
+                .thenReturn(Mono.just(new CourseResponseModel(FOUND_COURSE_ID, "cat-423", "Web Services Testing", 45, 3.0, "Computer Science", null, 0)));
+
+        //act and assert
+        StepVerifier.create(courseController.addCourse(Mono.just(courseRequestModel)))
+                .expectNextMatches(responseEntity -> responseEntity.getStatusCode() == HttpStatus.CREATED
+                        && responseEntity.getBody().capacity() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenAddCourse_withPositiveCapacity_thenPassItToTheService() {
+        //arrange
+        CourseRequestModel courseRequestModel = new CourseRequestModel(
+                "cat-423", "Web Services Testing", 45, 3.0, "Computer Science", 30);
+        ArgumentCaptor<Mono<CourseRequestModel>> request = ArgumentCaptor.forClass(Mono.class);
+        when(courseService.addCourse(request.capture()))
+                .thenReturn(Mono.just(new CourseResponseModel(FOUND_COURSE_ID, "cat-423", "Web Services Testing", 45, 3.0, "Computer Science", 30, 0)));
+
+        //act
+        StepVerifier.create(courseController.addCourse(Mono.just(courseRequestModel)))
+                .expectNextMatches(responseEntity -> responseEntity.getBody().capacity() == 30)
+                .verifyComplete();
+
+        //assert
+        StepVerifier.create(request.getValue())
+                .expectNextMatches(sent -> sent.capacity() == 30)
+                .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -5})
+    public void whenUpdateCourse_withCapacityNotPositive_thenThrowInvalidInputException(int capacity) {
+        //arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-updated", "Updated Course", 60, 4.0, "Computer Science", capacity);
+        when(courseService.updateCourseByCourseId(any(Mono.class), eq(FOUND_COURSE_ID)))
+                .thenAnswer(invocation -> invocation.<Mono<CourseRequestModel>>getArgument(0)
+                        .map(request -> new CourseResponseModel(FOUND_COURSE_ID, "cat-updated", "Updated Course", 60, 4.0, "Computer Science", request.capacity(), 1)));
+
+        //act and assert
+        StepVerifier.create(courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID, null))
+                .expectErrorMatches(e -> e instanceof InvalidInputException &&
+                        e.getMessage().equals("Course capacity must be greater than 0 when given"))
+                .verify();
+    }
+
+    @Test
+    public void whenUpdateCourse_withPositiveCapacity_thenReturnTheNewCapacity() {
+        //arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-updated", "Updated Course", 60, 4.0, "Computer Science", 25);
+        when(courseService.updateCourseByCourseId(any(Mono.class), eq(FOUND_COURSE_ID)))
+                .thenAnswer(invocation -> invocation.<Mono<CourseRequestModel>>getArgument(0)
+                        .map(request -> new CourseResponseModel(FOUND_COURSE_ID, "cat-updated", "Updated Course", 60, 4.0, "Computer Science", request.capacity(), 1)));
+
+        //act and assert
+        StepVerifier.create(courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID, null))
+                .expectNextMatches(responseEntity -> responseEntity.getStatusCode() == HttpStatus.OK
+                        && responseEntity.getBody().capacity() == 25)
+                .verifyComplete();
+        verify(courseService).updateCourseByCourseId(any(Mono.class), eq(FOUND_COURSE_ID));
+    }
+
+    @Test
+    public void whenUpdateCourse_withMalformedIfMatch_thenSignalInvalidInputException() {
+        //arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-updated", "Updated Course", 60, 4.0, "Computer Science");
+
+        //act: the error is signalled by the returned Mono, not thrown while assembling it
+        Mono<ResponseEntity<CourseResponseModel>> result =
+                courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID, "\"not-a-version\"");
+
+        //assert
+        StepVerifier.create(result)
+                .expectErrorMatches(e -> e instanceof InvalidInputException &&
+                        e.getMessage().startsWith("If-Match must be a course version"))
+                .verify();
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    public void whenUpdateCourse_withStaleIfMatch_thenSignalCourseVersionConflictException() {
+        //arrange
+        CourseRequestModel updateRequest = new CourseRequestModel(
+                "cat-updated", "Updated Course", 60, 4.0, "Computer Science");
+        when(courseService.updateCourseByCourseId(any(Mono.class), eq(FOUND_COURSE_ID), eq(3)))
+                .thenReturn(Mono.error(new CourseVersionConflictException(FOUND_COURSE_ID, 3)));
+
+        //act and assert
+        StepVerifier.create(courseController.updateCourseByCourseId(Mono.just(updateRequest), FOUND_COURSE_ID, "W/\"3\""))
+                .expectError(CourseVersionConflictException.class)
+                .verify();
+    }
 }
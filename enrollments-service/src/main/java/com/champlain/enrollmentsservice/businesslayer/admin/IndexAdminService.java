@@ -0,0 +1,8 @@
+package com.champlain.enrollmentsservice.businesslayer.admin;
+
+import com.champlain.enrollmentsservice.presentationlayer.admin.IndexReportModel;
+import reactor.core.publisher.Mono;
+
+public interface IndexAdminService {
+    Mono<IndexReportModel> getEnrollmentIndexReport();
+}
@@ -0,0 +1,54 @@
+package com.champlain.enrollmentsservice.businesslayer.admin;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentIndexes;
+import com.champlain.enrollmentsservice.presentationlayer.admin.IndexReportModel;
+import com.champlain.enrollmentsservice.presentationlayer.admin.IndexUsageModel;
+import org.bson.Document;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Service
+public class IndexAdminServiceImpl implements IndexAdminService {
+
+    private final EnrollmentIndexes enrollmentIndexes;
+
+    public IndexAdminServiceImpl(EnrollmentIndexes enrollmentIndexes) {
+        this.enrollmentIndexes = enrollmentIndexes;
+    }
+
+    @Override
+    public Mono<IndexReportModel> getEnrollmentIndexReport() {
+        return Mono.zip(enrollmentIndexes.indexStats().map(IndexAdminServiceImpl::toUsage).collectList(),
+                        enrollmentIndexes.missingIndexNames())
+                .map(statsAndMissing -> {
+                    List<IndexUsageModel> indexes = statsAndMissing.getT1();
+                    List<String> missing = statsAndMissing.getT2();
+
+                    List<String> warnings = new ArrayList<>();
+                    missing.forEach(name -> warnings.add("Declared index " + name + " is missing"));
+                    indexes.stream()
+                            .filter(IndexUsageModel::building)
+                            .forEach(index -> warnings.add("Index " + index.name() + " is still being built"));
+                    indexes.stream()
+                            .filter(index -> !index.name().equals("_id_") && index.ops() == 0)
+                            .forEach(index -> warnings.add("Index " + index.name() + " has not been used since " + index.since()));
+
+                    return new IndexReportModel(enrollmentIndexes.collectionName(), indexes, missing, warnings);
+                });
+    }
+
+    private static IndexUsageModel toUsage(Document stats) {
+        Document accesses = stats.get("accesses", new Document());
+        Object ops = accesses.get("ops");
+        Date since = accesses.getDate("since");
+        return new IndexUsageModel(stats.getString("name"),
+                stats.get("key", new Document()),
+                ops instanceof Number number ? number.longValue() : 0,
+                since == null ? null : since.toInstant().toString(),
+                Boolean.TRUE.equals(stats.getBoolean("building")));
+    }
+}
@@ -1,15 +1,20 @@
 package com.champlain.enrollmentsservice.businesslayer.enrollments;
 
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResultModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentPageResponseModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface EnrollmentService {
-    Flux<EnrollmentResponseModel> getEnrollments();
+    Flux<EnrollmentResponseModel> getEnrollments(EnrollmentFilter filter);
+    Mono<EnrollmentPageResponseModel> getEnrollmentsPage(EnrollmentFilter filter, String afterId, int limit);
     Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId);
     Mono<EnrollmentResponseModel> addEnrollment(Mono<EnrollmentRequestModel> enrollmentRequestModel);
     Mono<EnrollmentResponseModel> updateEnrollmentByEnrollmentId(Mono<EnrollmentRequestModel> enrollmentRequestModel, String enrollmentId);
     Mono<EnrollmentResponseModel> deleteEnrollmentByEnrollmentId(String enrollmentId);
+    Flux<EnrollmentImportResultModel> importEnrollments(Flux<String> lines);
 
 }
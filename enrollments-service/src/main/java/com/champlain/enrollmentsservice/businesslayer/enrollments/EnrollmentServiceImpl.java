@@ -1,34 +1,128 @@
 package com.champlain.enrollmentsservice.businesslayer.enrollments;
 
+import com.champlain.enrollmentsservice.businesslayer.stats.EnrollmentStatsService;
+import com.champlain.enrollmentsservice.dataaccesslayer.CourseSeatCounters;
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
 import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseResponseModel;
 import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseServiceClient;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
+import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.CourseNotFoundException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.DuplicateEnrollmentException;
 import com.champlain.enrollmentsservice.exceptionhandling.exceptions.EnrollmentNotFoundException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.InvalidInputException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.StudentNotFoundException;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResultModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentPageResponseModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
 import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentResponseModel;
 import com.champlain.enrollmentsservice.utils.EntityModelUnity;
+import com.champlain.enrollmentsservice.validation.RequestValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 @Service
+@Slf4j
 public class EnrollmentServiceImpl implements EnrollmentService {
+    //number of import lines resolved and bulk inserted together
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    //seat reservations of a chunk in flight at once
+    private static final int IMPORT_SEAT_CONCURRENCY = 32;
+    private static final String DUPLICATE_ENROLLMENT = DuplicateEnrollmentException.MESSAGE;
+    //documents per getMore when streaming enrollments, instead of the driver default of 101 then 16MB batches
+    private static final int QUERY_CURSOR_BATCH_SIZE = 500;
+    //the stages timed by timed(), each with an enrollments.write.stage timer per outcome
+    private static final List<String> WRITE_STAGES = List.of("student", "course", "seat", "save", "delete");
+
     final private StudentServiceClientAsynchronous studentClient;
     final private CourseServiceClient courseClient;
     final private EnrollmentRepository enrollmentRepository;
+    final private ReactiveMongoTemplate reactiveMongoTemplate;
+    final private EnrollmentStatsService enrollmentStatsService;
+    final private CourseSeatCounters courseSeatCounters;
+    final private MeterRegistry meterRegistry;
+    final private Map<String, Map<SignalType, Timer>> stageTimers;
+    final private ObjectMapper objectMapper;
+    final private Duration studentTimeout;
+    final private Duration courseTimeout;
 
 
-    public EnrollmentServiceImpl(StudentServiceClientAsynchronous studentClient,CourseServiceClient courseClient,EnrollmentRepository enrollmentRepository ) {
+    public EnrollmentServiceImpl(StudentServiceClientAsynchronous studentClient,CourseServiceClient courseClient,EnrollmentRepository enrollmentRepository,ReactiveMongoTemplate reactiveMongoTemplate,
+                                 EnrollmentStatsService enrollmentStatsService,
+                                 CourseSeatCounters courseSeatCounters,
+                                 MeterRegistry meterRegistry,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.enrollments.student-timeout-ms:5000}") long studentTimeoutMs,
+                                 @Value("${app.enrollments.course-timeout-ms:5000}") long courseTimeoutMs) {
         this.studentClient = studentClient;
         this.courseClient = courseClient;
         this.enrollmentRepository = enrollmentRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.enrollmentStatsService = enrollmentStatsService;
+        this.courseSeatCounters = courseSeatCounters;
+        this.meterRegistry = meterRegistry;
+        this.stageTimers = WRITE_STAGES.stream()
+                .collect(Collectors.toUnmodifiableMap(stageName -> stageName, stageName -> stageTimers(stageName, meterRegistry)));
+        this.objectMapper = objectMapper;
+        this.studentTimeout = Duration.ofMillis(studentTimeoutMs);
+        this.courseTimeout = Duration.ofMillis(courseTimeoutMs);
     }
 
     @Override
-    public Flux<EnrollmentResponseModel> getEnrollments() {
-        return enrollmentRepository.findAll()
+    public Flux<EnrollmentResponseModel> getEnrollments(EnrollmentFilter filter) {
+        return enrollmentRepository.findByFilter(filter, QUERY_CURSOR_BATCH_SIZE)
                 .map(EntityModelUnity::toModel);
     }
 
+    @Override
+    public Mono<EnrollmentPageResponseModel> getEnrollmentsPage(EnrollmentFilter filter, String afterId, int limit) {
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            return Mono.error(new InvalidInputException("Provided cursor is invalid: " + afterId));
+        }
+        //keyset pagination on _id, one extra document tells us whether there is a next page without a count
+        return enrollmentRepository.findPageByFilter(filter, afterId, limit + 1)
+                .collectList()
+                .map(enrollments -> {
+                    boolean hasMore = enrollments.size() > limit;
+                    List<Enrollment> page = hasMore ? enrollments.subList(0, limit) : enrollments;
+                    String nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+                    return new EnrollmentPageResponseModel(page.stream().map(EntityModelUnity::toModel).toList(), nextCursor);
+                });
+    }
+
     @Override
     public Mono<EnrollmentResponseModel> getEnrollmentByEnrollmentId(String enrollmentId) {
         return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
@@ -40,39 +134,361 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     public Mono<EnrollmentResponseModel> addEnrollment(Mono<EnrollmentRequestModel> enrollmentRequestModel) {
         return enrollmentRequestModel
                 .map(RequestContext::new)
-                .flatMap(this::studentRequestResponse)
-                .flatMap(this::courseRequestResponse)
-                .map(EntityModelUnity::toEntity)
-                .flatMap(enrollmentRepository::save)
+                .flatMap(this::studentAndCourseRequestResponse)
+                .flatMap(rc -> saveWithSeat(EntityModelUnity.toEntity(rc), rc.getCourseResponseModel().capacity()))
+                .onErrorMap(EnrollmentServiceImpl::isDuplicateEnrollment, DuplicateEnrollmentException::new)
+                .doOnNext(this::evictStats)
                 .map(EntityModelUnity::toModel);
 
     }
 
     @Override
     public Mono<EnrollmentResponseModel> updateEnrollmentByEnrollmentId(Mono<EnrollmentRequestModel> enrollmentRequestModel, String enrollmentId) {
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
+        //no read first: staying in the same course and term (the usual case) is a single findAndModify;
+        //only when a lookup fails is the enrollment looked up, so that a missing one is still reported as not found
+        return enrollmentRequestModel
+                .map(RequestContext::new)
+                .flatMap(rc -> studentAndCourseRequestResponse(rc)
+                        .onErrorResume(ex -> enrollmentRepository.existsByEnrollmentId(enrollmentId)
+                                .flatMap(exists -> Mono.<RequestContext>error(exists
+                                        ? ex
+                                        : new EnrollmentNotFoundException("Enrollment id not found: " + enrollmentId)))))
+                .flatMap(rc -> {
+                    Enrollment changes = EntityModelUnity.toEntity(rc);
+                    changes.setEnrollmentId(enrollmentId);
+                    //empty when there is no such enrollment, so no seat is taken for it
+                    return timed(enrollmentRepository.updateIfInSameCourseAndTerm(changes), "save")
+                            .flatMap(previous -> {
+                                if (sameSeat(previous, changes)) {
+                                    changes.setId(previous.getId());
+                                    return Mono.just(changes);
+                                }
+                                return moveSeat(changes, rc.getCourseResponseModel().capacity());
+                            });
+                })
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new EnrollmentNotFoundException("Enrollment id not found: " + enrollmentId))))
-                .flatMap(existingEnrollment -> enrollmentRequestModel
-                        .map(RequestContext::new)
-                        .flatMap(this::studentRequestResponse)
-                        .flatMap(this::courseRequestResponse)
-                        .map(EntityModelUnity::toEntity)
-                        .doOnNext(e -> e.setEnrollmentId(existingEnrollment.getEnrollmentId()))
-                        .doOnNext(e -> e.setId(existingEnrollment.getId())))
-                .flatMap(enrollmentRepository::save)
+                .onErrorMap(EnrollmentServiceImpl::isDuplicateEnrollment, DuplicateEnrollmentException::new)
+                .doOnNext(this::evictStats)
                 .map(EntityModelUnity::toModel);
     }
 
     @Override
     public Mono<EnrollmentResponseModel> deleteEnrollmentByEnrollmentId(String enrollmentId) {
-        return enrollmentRepository.findEnrollmentByEnrollmentId(enrollmentId)
+        return timed(enrollmentRepository.removeByEnrollmentId(enrollmentId), "delete")
                 .switchIfEmpty(Mono.defer(() -> Mono.error(new EnrollmentNotFoundException("Enrollment id not found: " + enrollmentId))))
-                .flatMap(existingEnrollment -> enrollmentRepository.delete(existingEnrollment)
-                        .then(Mono.just(existingEnrollment)))
+                .flatMap(removed -> releaseSeat(removed).thenReturn(removed))
+                .doOnNext(this::evictStats)
                 .map(EntityModelUnity::toModel);
     }
 
 
+    /*
+       Lines are processed in chunks: every line is parsed and validated on its own, the chunk's distinct courses and
+       students are fetched with one batch call each, and the valid enrollments are written with one bulk insert.
+       A bad line is reported and skipped, it never fails the stream.
+     */
+    @Override
+    public Flux<EnrollmentImportResultModel> importEnrollments(Flux<String> lines) {
+        //indexed before blank lines are dropped so that results keep the line numbers of the file
+        return lines
+                .index()
+                .filter(line -> !line.getT2().isBlank())
+                .map(line -> parseImportRow(line.getT1() + 1, line.getT2()))
+                .buffer(IMPORT_CHUNK_SIZE)
+                .concatMap(this::importChunk);
+    }
+
+    private ImportRow parseImportRow(long line, String json) {
+        try {
+            EnrollmentRequestModel request = objectMapper.readValue(json, EnrollmentRequestModel.class);
+            return request == null
+                    ? ImportRow.unreadable(line, "Line is not an enrollment: " + json)
+                    : ImportRow.of(line, new RequestContext(request));
+        } catch (JsonProcessingException ex) {
+            return ImportRow.unreadable(line, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private Flux<EnrollmentImportResultModel> importChunk(List<ImportRow> chunk) {
+        //seats taken for this chunk and not given back yet, by enrollmentId; if the client goes away halfway
+        //through the chunk, the ones whose enrollment was not written are given back
+        Map<String, Enrollment> heldSeats = new ConcurrentHashMap<>();
+        return Flux.fromIterable(chunk)
+                .concatMap(this::validateImportRow)
+                .collectList()
+                .flatMap(rows -> resolveImportRows(rows, heldSeats))
+                .flatMap(rows -> insertImportRows(rows, heldSeats))
+                .doOnCancel(() -> releaseSeatsAfterCancel(heldSeats.values()))
+                .doOnNext(this::evictImportedTerms)
+                .flatMapIterable(rows -> rows.stream()
+                        .sorted(Comparator.comparingLong(ImportRow::line))
+                        .map(ImportRow::toResult)
+                        .toList());
+    }
+
+    private Mono<ImportRow> validateImportRow(ImportRow row) {
+        if (row.isFailed()) {
+            return Mono.just(row);
+        }
+        return Mono.just(row.requestContext().getEnrollmentRequestModel())
+                .transform(RequestValidator.validateBody())
+                .thenReturn(row)
+                .onErrorResume(ex -> Mono.just(row.fail(ex.getMessage())));
+    }
+
+    //the chunk's courses and students are each fetched with one batch call, both at the same time
+    private Mono<List<ImportRow>> resolveImportRows(List<ImportRow> rows, Map<String, Enrollment> heldSeats) {
+        var requests = rows.stream()
+                .filter(row -> !row.isFailed())
+                .map(row -> row.requestContext().getEnrollmentRequestModel())
+                .toList();
+        if (requests.isEmpty()) {
+            return Mono.just(rows);
+        }
+        var courseIds = requests.stream().map(EnrollmentRequestModel::courseId).collect(Collectors.toSet());
+        var studentIds = requests.stream().map(EnrollmentRequestModel::studentId).collect(Collectors.toSet());
+
+        //resolveImportRow reports its own errors, so an error here is one of the batch lookups failing
+        return Mono.zip(
+                        courseClient.getCoursesByCourseIds(courseIds)
+                                .collectMap(CourseResponseModel::courseId)
+                                .onErrorMap(ex -> new ImportLookupException("Course", ex)),
+                        studentClient.getStudentsByStudentIds(studentIds)
+                                .onErrorMap(ex -> new ImportLookupException("Student", ex)))
+                .flatMap(lookups -> Flux.fromIterable(rows)
+                        .flatMapSequential(row -> resolveImportRow(row, lookups.getT1(), lookups.getT2(), heldSeats), IMPORT_SEAT_CONCURRENCY)
+                        .collectList())
+                .onErrorResume(ImportLookupException.class, ex -> {
+                    log.warn("{} for {} import lines: {}", ex.getMessage(), rows.size(), ex.getCause().toString());
+                    String reason = ex.getMessage() + ": " + ex.getCause().getMessage();
+                    return Mono.just(rows.stream()
+                            .map(row -> row.isFailed() ? row : row.fail(reason))
+                            .toList());
+                });
+    }
+
+    private Mono<ImportRow> resolveImportRow(ImportRow row, Map<String, CourseResponseModel> courses, Map<String, StudentResponseModel> students,
+                                             Map<String, Enrollment> heldSeats) {
+        if (row.isFailed()) {
+            return Mono.just(row);
+        }
+        var rc = row.requestContext();
+        var courseId = rc.getEnrollmentRequestModel().courseId();
+        var course = courses.get(courseId);
+        if (course == null) {
+            return Mono.just(row.fail(new CourseNotFoundException(courseId).getMessage()));
+        }
+        var studentId = rc.getEnrollmentRequestModel().studentId();
+        var student = students.get(studentId);
+        if (student == null) {
+            return Mono.just(row.fail(new StudentNotFoundException(studentId).getMessage()));
+        }
+        rc.setCourseResponseModel(course);
+        rc.setStudentResponseModel(student);
+        rc.setEnrollment(EntityModelUnity.toEntity(rc));
+        return reserveSeat(rc.getEnrollment(), course.capacity())
+                .doOnNext(enrollment -> heldSeats.put(enrollment.getEnrollmentId(), enrollment))
+                .thenReturn(row)
+                .onErrorResume(ex -> Mono.just(row.fail(ex.getMessage())));
+    }
+
+    //only the terms that actually got new enrollments have out of date stats
+    private void evictImportedTerms(List<ImportRow> rows) {
+        rows.stream()
+                .filter(row -> !row.isFailed())
+                .map(row -> row.requestContext().getEnrollment())
+                .map(enrollment -> Map.entry(enrollment.getEnrollmentYear(), enrollment.getSemester()))
+                .distinct()
+                .forEach(term -> enrollmentStatsService.evictTerm(term.getKey(), term.getValue()));
+    }
+
+    private Mono<List<ImportRow>> insertImportRows(List<ImportRow> rows, Map<String, Enrollment> heldSeats) {
+        var valid = rows.stream().filter(row -> !row.isFailed()).toList();
+        if (valid.isEmpty()) {
+            return Mono.just(rows);
+        }
+        var enrollments = valid.stream().map(row -> row.requestContext().getEnrollment()).toList();
+
+        //unordered: a rejected document (e.g. a duplicate enrollment) doesn't stop the ones after it
+        return reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class)
+                .insert(enrollments)
+                .execute()
+                .then(Mono.just(rows))
+                .onErrorResume(ex -> {
+                    List<BulkWriteError> errors = bulkWriteErrors(ex);
+                    if (!errors.isEmpty()) {
+                        return failImportRows(rows, valid, errors, heldSeats);
+                    }
+                    //not a per document failure, so retry one by one to find out which rows were written
+                    log.debug("Bulk insert of {} enrollments failed, inserting one at a time: {}", enrollments.size(), ex.getMessage());
+                    return Flux.fromIterable(rows)
+                            .concatMap(row -> insertImportRow(row, heldSeats))
+                            .collectList();
+                });
+    }
+
+    //every document not listed in errors was written; the index of an error is its position in valid
+    private Mono<List<ImportRow>> failImportRows(List<ImportRow> rows, List<ImportRow> valid, List<BulkWriteError> errors, Map<String, Enrollment> heldSeats) {
+        Map<Long, ImportRow> failed = new HashMap<>();
+        errors.forEach(error -> {
+            ImportRow row = valid.get(error.getIndex());
+            String reason = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                    && namesStudentTermCourseIndex(error.getMessage())
+                    ? DUPLICATE_ENROLLMENT
+                    : error.getMessage();
+            failed.put(row.line(), row.fail(reason));
+        });
+        return Flux.fromIterable(failed.values())
+                .concatMap(row -> releaseHeldSeat(row.requestContext().getEnrollment(), heldSeats))
+                .then(Mono.fromSupplier(() -> rows.stream()
+                        .map(row -> failed.getOrDefault(row.line(), row))
+                        .toList()));
+    }
+
+    private static List<BulkWriteError> bulkWriteErrors(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulkOperationException) {
+                return bulkOperationException.getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException mongoBulkWriteException) {
+                return mongoBulkWriteException.getWriteErrors();
+            }
+        }
+        return List.of();
+    }
+
+    //only the unique (studentId, enrollmentYear, semester, courseId) index means the student is already enrolled,
+    //a collision on enrollmentId or on a seat counter is left as the DuplicateKeyException it is
+    private static boolean isDuplicateEnrollment(Throwable ex) {
+        return ex instanceof DuplicateKeyException && namesStudentTermCourseIndex(ex.getMessage());
+    }
+
+    //the server's E11000 message reads "... index: <name> dup key: ..."
+    private static boolean namesStudentTermCourseIndex(String message) {
+        return message != null && message.contains("index: " + Enrollment.STUDENT_TERM_COURSE_INDEX + " ");
+    }
+
+    private Mono<ImportRow> insertImportRow(ImportRow row, Map<String, Enrollment> heldSeats) {
+        if (row.isFailed()) {
+            return Mono.just(row);
+        }
+        Enrollment enrollment = row.requestContext().getEnrollment();
+        //documents ahead of the failing one were already written by the bulk insert
+        return reactiveMongoTemplate.exists(query(where("enrollmentId").is(enrollment.getEnrollmentId())), Enrollment.class)
+                .flatMap(alreadyInserted -> alreadyInserted
+                        ? Mono.just(row)
+                        : reactiveMongoTemplate.insert(enrollment).thenReturn(row))
+                .onErrorResume(ex -> releaseHeldSeat(enrollment, heldSeats).thenReturn(row.fail(isDuplicateEnrollment(ex)
+                        ? DUPLICATE_ENROLLMENT
+                        : ex.getMessage())));
+    }
+
+    //a seat is taken in the course for the term before the write and given back if the write fails or is cancelled
+    private Mono<Enrollment> saveWithSeat(Enrollment enrollment, Integer capacity) {
+        return timed(reserveSeat(enrollment, capacity), "seat")
+                .flatMap(e -> timed(enrollmentRepository.save(e), "save")
+                        .onErrorResume(ex -> releaseSeat(e).then(Mono.error(ex)))
+                        .doOnCancel(() -> releaseSeatsAfterCancel(List.of(e))));
+    }
+
+    /*
+       The enrollment moves to another course or term: a seat is taken in the new course and term, the update returns
+       the previous enrollment, and then its seat is given back. Empty when the enrollment was deleted in between,
+       in which case the new seat is given back too.
+     */
+    private Mono<Enrollment> moveSeat(Enrollment changes, Integer capacity) {
+        return timed(reserveSeat(changes, capacity), "seat")
+                .flatMap(e -> timed(enrollmentRepository.updateReturningPrevious(e), "save")
+                        .onErrorResume(ex -> releaseSeat(e).then(Mono.error(ex)))
+                        .doOnCancel(() -> releaseSeatsAfterCancel(List.of(e)))
+                        .switchIfEmpty(Mono.defer(() -> releaseSeat(e).then(Mono.<Enrollment>empty())))
+                        .flatMap(previous -> {
+                            evictStats(previous);
+                            //a concurrent update may have moved it into this course and term already
+                            return releaseSeat(sameSeat(previous, e) ? e : previous)
+                                    .then(Mono.fromSupplier(() -> {
+                                        e.setId(previous.getId());
+                                        return e;
+                                    }));
+                        }));
+    }
+
+    private Mono<Enrollment> reserveSeat(Enrollment enrollment, Integer capacity) {
+        return courseSeatCounters.reserve(enrollment.getCourseId(), enrollment.getEnrollmentYear(), enrollment.getSemester(), capacity)
+                .flatMap(reserved -> reserved
+                        ? Mono.just(enrollment)
+                        : ApplicationExceptions.courseFull(enrollment.getCourseId(), enrollment.getSemester(), enrollment.getEnrollmentYear()));
+    }
+
+    private Mono<Void> releaseSeat(Enrollment enrollment) {
+        return courseSeatCounters.release(enrollment.getCourseId(), enrollment.getEnrollmentYear(), enrollment.getSemester());
+    }
+
+    private Mono<Void> releaseHeldSeat(Enrollment enrollment, Map<String, Enrollment> heldSeats) {
+        return releaseSeat(enrollment)
+                .doOnSuccess(released -> heldSeats.remove(enrollment.getEnrollmentId()));
+    }
+
+    /*
+       The caller cancelled while the enrollments were being written, so nothing downstream will compensate. A write
+       that was already sent may still land: the seat is only given back when the enrollment is not in that seat.
+     */
+    private void releaseSeatsAfterCancel(Collection<Enrollment> enrollments) {
+        Flux.fromIterable(List.copyOf(enrollments))
+                .concatMap(enrollment -> reactiveMongoTemplate.exists(query(where("enrollmentId").is(enrollment.getEnrollmentId())
+                                        .and("courseId").is(enrollment.getCourseId())
+                                        .and("enrollmentYear").is(enrollment.getEnrollmentYear())
+                                        .and("semester").is(enrollment.getSemester())), Enrollment.class)
+                        .flatMap(written -> written ? Mono.<Void>empty() : releaseSeat(enrollment)))
+                .subscribe(unused -> {}, ex -> log.warn("Could not give back the seats of a cancelled write: {}", ex.toString()));
+    }
+
+    private static boolean sameSeat(Enrollment a, Enrollment b) {
+        return Objects.equals(a.getCourseId(), b.getCourseId())
+                && Objects.equals(a.getEnrollmentYear(), b.getEnrollmentYear())
+                && a.getSemester() == b.getSemester();
+    }
+
+    //the cached stats of every term the enrollment counts towards are out of date after a write
+    private void evictStats(Enrollment enrollment) {
+        enrollmentStatsService.evictTerm(enrollment.getEnrollmentYear(), enrollment.getSemester());
+    }
+
+    //both lookups run at the same time; zip cancels the other one as soon as either fails or times out
+    private Mono<RequestContext> studentAndCourseRequestResponse(RequestContext rc) {
+        return Mono.zip(
+                        timed(studentRequestResponse(rc).timeout(studentTimeout), "student"),
+                        timed(courseRequestResponse(rc).timeout(courseTimeout), "course"))
+                .thenReturn(rc);
+    }
+
+    //records the time from subscription to completion, error or cancellation of one stage of an enrollment write
+    private <T> Mono<T> timed(Mono<T> stage, String stageName) {
+        Map<SignalType, Timer> timers = stageTimers.get(stageName);
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return stage.doFinally(signal -> sample.stop(timers.getOrDefault(signal, timers.get(SignalType.ON_CANCEL))));
+        });
+    }
+
+    //registered once per stage and outcome, so that recording a stage doesn't look the meter up in the registry
+    private static Map<SignalType, Timer> stageTimers(String stageName, MeterRegistry meterRegistry) {
+        Map<SignalType, Timer> timers = new EnumMap<>(SignalType.class);
+        timers.put(SignalType.ON_COMPLETE, stageTimer(stageName, "success", meterRegistry));
+        timers.put(SignalType.ON_ERROR, stageTimer(stageName, "error", meterRegistry));
+        timers.put(SignalType.ON_CANCEL, stageTimer(stageName, "cancelled", meterRegistry));
+        return timers;
+    }
+
+    private static Timer stageTimer(String stageName, String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("enrollments.write.stage")
+                .description("Latency of each stage of an enrollment create, update or delete")
+                .tag("stage", stageName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private Mono<RequestContext> studentRequestResponse(RequestContext rc) {
         return this.studentClient
                 .getStudentByStudentId(rc.getEnrollmentRequestModel().studentId())
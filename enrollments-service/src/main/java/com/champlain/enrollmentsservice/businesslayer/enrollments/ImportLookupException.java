@@ -0,0 +1,9 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+//one of the batch lookups of an import chunk failed; the rows waiting on it are failed with the cause
+class ImportLookupException extends RuntimeException {
+
+    ImportLookupException(String lookup, Throwable cause) {
+        super(lookup + " lookup failed", cause);
+    }
+}
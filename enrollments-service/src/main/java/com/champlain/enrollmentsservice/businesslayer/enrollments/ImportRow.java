@@ -0,0 +1,30 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResultModel;
+
+//one line of a bulk import: either still going through the pipeline or failed with a reason; a line that
+//could not be read as an enrollment has no request context
+record ImportRow(long line, RequestContext requestContext, String failureReason) {
+
+    static ImportRow of(long line, RequestContext requestContext) {
+        return new ImportRow(line, requestContext, null);
+    }
+
+    static ImportRow unreadable(long line, String reason) {
+        return new ImportRow(line, null, reason);
+    }
+
+    ImportRow fail(String reason) {
+        return new ImportRow(line, requestContext, reason);
+    }
+
+    boolean isFailed() {
+        return failureReason != null;
+    }
+
+    EnrollmentImportResultModel toResult() {
+        return isFailed()
+                ? EnrollmentImportResultModel.failed(line, failureReason)
+                : EnrollmentImportResultModel.created(line, requestContext.getEnrollment().getEnrollmentId());
+    }
+}
@@ -0,0 +1,45 @@
+package com.champlain.enrollmentsservice.businesslayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.stats.EnrollmentStatsResponseModel;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/*
+   Stats per term, as an AsyncCache so that concurrent dashboard requests for the same term share one aggregation.
+   Writes through this instance evict the terms they touch; the TTL bounds how stale a term can get from writes
+   made through other instances.
+ */
+class EnrollmentStatsCache {
+
+    private final AsyncCache<TermKey, EnrollmentStatsResponseModel> cache;
+
+    EnrollmentStatsCache(long maximumSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    Mono<EnrollmentStatsResponseModel> get(TermKey key, Function<TermKey, Mono<EnrollmentStatsResponseModel>> loader) {
+        //suppress cancel: one subscriber going away must not cancel the aggregation the other waiters share
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.apply(k).toFuture()), true);
+    }
+
+    //every cached entry whose term includes the written enrollment, e.g. (2024, FALL), (2024, all) and (all, all)
+    void evict(Integer enrollmentYear, Semester semester) {
+        cache.synchronous().asMap().keySet().removeIf(key -> key.covers(enrollmentYear, semester));
+    }
+
+    //exposes cache.gets (hit/miss), cache.evictions, cache.size, ... under /actuator/metrics
+    void bindTo(MeterRegistry meterRegistry, String cacheName) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+    }
+}
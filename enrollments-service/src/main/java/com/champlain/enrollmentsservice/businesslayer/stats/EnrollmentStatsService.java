@@ -0,0 +1,10 @@
+package com.champlain.enrollmentsservice.businesslayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.stats.EnrollmentStatsResponseModel;
+import reactor.core.publisher.Mono;
+
+public interface EnrollmentStatsService {
+    Mono<EnrollmentStatsResponseModel> getEnrollmentStats(Integer enrollmentYear, Semester semester);
+    void evictTerm(Integer enrollmentYear, Semester semester);
+}
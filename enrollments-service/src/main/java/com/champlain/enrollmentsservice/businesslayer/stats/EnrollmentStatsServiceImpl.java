@@ -0,0 +1,123 @@
+package com.champlain.enrollmentsservice.businesslayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.presentationlayer.stats.CourseEnrollmentCountModel;
+import com.champlain.enrollmentsservice.presentationlayer.stats.EnrollmentStatsResponseModel;
+import com.champlain.enrollmentsservice.presentationlayer.stats.StudentEnrollmentCountModel;
+import com.champlain.enrollmentsservice.presentationlayer.stats.TermEnrollmentCountModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/*
+   Counts are computed by the server with $match/$group, one aggregation per breakdown run in parallel,
+   so only the grouped rows travel over the wire. The $match on (enrollmentYear, semester) comes first.
+ */
+@Service
+@Slf4j
+public class EnrollmentStatsServiceImpl implements EnrollmentStatsService {
+
+    //$group can spill to disk instead of failing once a large term goes over the 100MB stage limit
+    private static final AggregationOptions AGGREGATION_OPTIONS = AggregationOptions.builder()
+            .allowDiskUse(true)
+            .build();
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final EnrollmentStatsCache cache;
+
+    public EnrollmentStatsServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.enrollments.stats-cache.maximum-size:100}") long cacheMaximumSize,
+                                      @Value("${app.enrollments.stats-cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.cache = new EnrollmentStatsCache(cacheMaximumSize, Duration.ofSeconds(cacheTtlSeconds));
+        this.cache.bindTo(meterRegistry, "enrollment-stats");
+    }
+
+    @Override
+    public Mono<EnrollmentStatsResponseModel> getEnrollmentStats(Integer enrollmentYear, Semester semester) {
+        return cache.get(new TermKey(enrollmentYear, semester), this::aggregate);
+    }
+
+    @Override
+    public void evictTerm(Integer enrollmentYear, Semester semester) {
+        cache.evict(enrollmentYear, semester);
+    }
+
+    private Mono<EnrollmentStatsResponseModel> aggregate(TermKey term) {
+        log.debug("Aggregating enrollment stats for {}", term);
+        Criteria criteria = new Criteria();
+        if (term.enrollmentYear() != null) {
+            criteria = criteria.and("enrollmentYear").is(term.enrollmentYear());
+        }
+        if (term.semester() != null) {
+            criteria = criteria.and("semester").is(term.semester());
+        }
+
+        Mono<List<TermEnrollmentCountModel>> byTerm = countBy(criteria,
+                group("enrollmentYear", "semester").count().as("enrollments"),
+                Sort.by("enrollmentYear", "semester"))
+                .map(row -> new TermEnrollmentCountModel(key(row).getInteger("enrollmentYear"),
+                        Semester.valueOf(key(row).getString("semester")),
+                        enrollments(row)))
+                .collectList();
+
+        Mono<List<CourseEnrollmentCountModel>> byCourse = countBy(criteria,
+                group("courseId", "courseNumber", "courseName").count().as("enrollments"),
+                Sort.by(Sort.Direction.DESC, "enrollments").and(Sort.by("courseId")))
+                .map(row -> new CourseEnrollmentCountModel(key(row).getString("courseId"),
+                        key(row).getString("courseNumber"),
+                        key(row).getString("courseName"),
+                        enrollments(row)))
+                .collectList();
+
+        Mono<List<StudentEnrollmentCountModel>> byStudent = countBy(criteria,
+                group("studentId", "studentFirstName", "studentLastName").count().as("enrollments"),
+                Sort.by(Sort.Direction.DESC, "enrollments").and(Sort.by("studentId")))
+                .map(row -> new StudentEnrollmentCountModel(key(row).getString("studentId"),
+                        key(row).getString("studentFirstName"),
+                        key(row).getString("studentLastName"),
+                        enrollments(row)))
+                .collectList();
+
+        return Mono.zip(byTerm, byCourse, byStudent)
+                .map(stats -> new EnrollmentStatsResponseModel(term.enrollmentYear(), term.semester(),
+                        stats.getT1().stream().mapToLong(TermEnrollmentCountModel::enrollments).sum(),
+                        stats.getT1(), stats.getT2(), stats.getT3()));
+    }
+
+    private Flux<Document> countBy(Criteria criteria, GroupOperation group, Sort order) {
+        Aggregation aggregation = newAggregation(Enrollment.class, match(criteria), group, sort(order))
+                .withOptions(AGGREGATION_OPTIONS);
+        return reactiveMongoTemplate.aggregate(aggregation, Document.class);
+    }
+
+    //grouping on several fields puts them in a sub document under _id, which is also what the sorts above resolve to
+    private static Document key(Document row) {
+        return row.get("_id", Document.class);
+    }
+
+    private static long enrollments(Document row) {
+        return row.get("enrollments", Number.class).longValue();
+    }
+}
@@ -0,0 +1,12 @@
+package com.champlain.enrollmentsservice.businesslayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+
+//a null year or semester stands for every year or semester
+record TermKey(Integer enrollmentYear, Semester semester) {
+
+    boolean covers(Integer year, Semester sem) {
+        return (enrollmentYear == null || enrollmentYear.equals(year))
+                && (semester == null || semester == sem);
+    }
+}
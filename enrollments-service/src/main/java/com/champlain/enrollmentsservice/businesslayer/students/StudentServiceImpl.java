@@ -3,15 +3,28 @@ package com.champlain.enrollmentsservice.businesslayer.students;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientSynchronous;
+import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
+import com.champlain.enrollmentsservice.presentationlayer.students.FanOutSummaryModel;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    static final int MAX_FAN_OUT = 100_000;
+    static final int MAX_FAN_OUT_CONCURRENCY = 2_000;
+    static final int MAX_FAN_OUT_PREFETCH = 1_024;
+
     private final StudentServiceClientSynchronous studentServiceClientSynchronous;
     private final StudentServiceClientAsynchronous studentServiceClientAsynchronous;
 
@@ -36,6 +49,11 @@ public class StudentServiceImpl implements StudentService {
         return studentServiceClientSynchronous.get1000StudentsSyncParallel();
     }
 
+    @Override
+    public List<StudentResponseModel> get1000StudentsSyncVirtual() {
+        return studentServiceClientSynchronous.get1000StudentsSyncVirtual();
+    }
+
     //asynchronous
     @Override
     public Flux<StudentResponseModel> get1000StudentsAsync() {
@@ -52,6 +70,87 @@ public class StudentServiceImpl implements StudentService {
         return studentServiceClientAsynchronous.get1000StudentsAsyncBounded();
     }
 
+    /*
+       Fetches students 1..n by row id with the given flatMap concurrency and prefetch, and reports timings
+       instead of the records, so the fan-out can be tuned against a live students-service.
+
+       async: non-blocking WebClient calls, the whole fan-out is subscribed on the scheduler
+       sync: one blocking RestTemplate call per id, each subscribed on the scheduler, so it needs one that may block
+     */
+    @Override
+    public Mono<FanOutSummaryModel> fanOut(int n, int concurrency, int prefetch, String scheduler, String mode) {
+        if (n < 1 || n > MAX_FAN_OUT) {
+            return ApplicationExceptions.invalidFanOut("n must be between 1 and " + MAX_FAN_OUT);
+        }
+        if (concurrency < 1 || concurrency > MAX_FAN_OUT_CONCURRENCY) {
+            return ApplicationExceptions.invalidFanOut("concurrency must be between 1 and " + MAX_FAN_OUT_CONCURRENCY);
+        }
+        if (prefetch < 1 || prefetch > MAX_FAN_OUT_PREFETCH) {
+            return ApplicationExceptions.invalidFanOut("prefetch must be between 1 and " + MAX_FAN_OUT_PREFETCH);
+        }
+        if (!mode.equals("sync") && !mode.equals("async")) {
+            return ApplicationExceptions.invalidFanOut("mode must be sync or async");
+        }
+        if (!Set.of("parallel", "boundedElastic", "immediate", "virtual").contains(scheduler)) {
+            return ApplicationExceptions.invalidFanOut("scheduler must be parallel, boundedElastic, immediate or virtual");
+        }
+        if (mode.equals("sync") && (scheduler.equals("parallel") || scheduler.equals("immediate"))) {
+            return ApplicationExceptions.invalidFanOut("sync mode blocks, use the boundedElastic or virtual scheduler");
+        }
+
+        //the virtual thread scheduler only lives for one run, the shared ones are never disposed
+        return Mono.using(() -> createScheduler(scheduler),
+                s -> runFanOut(n, concurrency, prefetch, s, scheduler, mode),
+                s -> {
+                    if (scheduler.equals("virtual")) {
+                        s.dispose();
+                    }
+                });
+    }
+
+    private Mono<FanOutSummaryModel> runFanOut(int n, int concurrency, int prefetch, Scheduler scheduler, String schedulerName, String mode) {
+        Function<Integer, Mono<StudentResponseModel>> call = mode.equals("sync")
+                ? id -> Mono.fromCallable(() -> studentServiceClientSynchronous.getStudentSync(id)).subscribeOn(scheduler)
+                : studentServiceClientAsynchronous::getStudent;
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            Set<Long> threads = ConcurrentHashMap.newKeySet();
+
+            return Flux.range(1, n)
+                    .flatMap(id -> call.apply(id)
+                            .doOnSubscribe(s -> {
+                                threads.add(Thread.currentThread().threadId());
+                                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            })
+                            .doOnNext(s -> threads.add(Thread.currentThread().threadId()))
+                            .doFinally(signal -> inFlight.decrementAndGet())
+                            .doOnError(ex -> errors.incrementAndGet())
+                            .onErrorResume(ex -> Mono.empty()), concurrency, prefetch)
+                    .count()
+                    .subscribeOn(scheduler)
+                    .map(succeeded -> {
+                        long elapsedNanos = System.nanoTime() - start;
+                        return new FanOutSummaryModel(mode, schedulerName, n, concurrency, prefetch,
+                                succeeded, errors.get(), elapsedNanos / 1_000_000,
+                                succeeded * 1_000_000_000.0 / Math.max(elapsedNanos, 1),
+                                threads.size(), maxInFlight.get());
+                    });
+        });
+    }
+
+    private static Scheduler createScheduler(String scheduler) {
+        return switch (scheduler) {
+            case "parallel" -> Schedulers.parallel();
+            case "boundedElastic" -> Schedulers.boundedElastic();
+            case "virtual" -> Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "fanout-virtual");
+            default -> Schedulers.immediate();
+        };
+    }
+
     @Override
     public Mono<StudentResponseModel> getStudentByStudentId(String studentId) {
         return studentServiceClientAsynchronous.getStudentByStudentId(studentId);
@@ -0,0 +1,22 @@
+package com.champlain.enrollmentsservice.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+//connection pool and timeout settings of the client for one downstream service, bound from app.<service>.pool
+@Data
+public class HttpClientPoolProperties {
+
+    private int maxConnections = 500;
+    private int pendingAcquireMaxCount = 1000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private boolean keepAlive = true;
+    //try HTTP/2 cleartext (upgrade from HTTP/1.1), falls back to HTTP/1.1 when the server doesn't support it
+    private boolean h2c = false;
+}
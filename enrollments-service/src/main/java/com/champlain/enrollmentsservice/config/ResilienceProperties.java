@@ -0,0 +1,33 @@
+package com.champlain.enrollmentsservice.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+//bulkhead, circuit breaker, retry and hedging settings of the client for one downstream service, bound from app.<service>.resilience
+@Data
+public class ResilienceProperties {
+
+    private boolean enabled = true;
+
+    private int bulkheadMaxConcurrentCalls = 100;
+
+    private int slidingWindowSize = 50;
+    private int minimumNumberOfCalls = 20;
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 80;
+    //below attemptTimeout, attempts slower than this that still answer count as slow calls
+    private Duration slowCallDurationThreshold = Duration.ofMillis(500);
+    //each attempt is cut off after this, counted as a failure by the circuit breaker and retried
+    private Duration attemptTimeout = Duration.ofSeconds(1);
+    private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+    private int retryMaxAttempts = 3;
+    private Duration retryInitialBackoff = Duration.ofMillis(50);
+    private double retryBackoffMultiplier = 2;
+    private double retryJitter = 0.5;
+
+    //send a second copy of a read that hasn't answered after max(p95 latency, hedgeMinDelay)
+    private boolean hedgingEnabled = false;
+    private Duration hedgeMinDelay = Duration.ofMillis(20);
+}
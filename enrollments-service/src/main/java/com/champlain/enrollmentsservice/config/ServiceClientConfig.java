@@ -1,61 +1,205 @@
 package com.champlain.enrollmentsservice.config;
 
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamResilience;
 import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseServiceClient;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientSynchronous;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 @Slf4j
 public class ServiceClientConfig {
 
+    @Bean
+    @ConfigurationProperties("app.courses-service.pool")
+    public HttpClientPoolProperties coursesServicePoolProperties() {
+        return new HttpClientPoolProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.students-service.pool")
+    public HttpClientPoolProperties studentsServicePoolProperties() {
+        return new HttpClientPoolProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.courses-service.resilience")
+    public ResilienceProperties coursesServiceResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.students-service.resilience")
+    public ResilienceProperties studentsServiceResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
     @Bean
     public CourseServiceClient courseServiceClient(@Value("${app.courses-service.host}") String courseServiceHost,
-                                                   @Value("${app.courses-service.port}") String courseServicePort) {
+                                                   @Value("${app.courses-service.port}") String courseServicePort,
+                                                   @Value("${app.courses-service.coalescing.enabled:false}") boolean coalescingEnabled,
+                                                   @Value("${app.courses-service.coalescing.window-ms:2}") long coalescingWindowMs,
+                                                   @Value("${app.courses-service.coalescing.max-batch-size:64}") int coalescingMaxBatchSize,
+                                                   MeterRegistry meterRegistry) {
 
         var baseUrl = "http://" + courseServiceHost + ":" + courseServicePort + "/api/v1/courses";
         log.debug("CourseServiceClient baseUrl: {}", baseUrl);
-        return new CourseServiceClient(createWebClient(baseUrl));
+        var webClient = createWebClient("courses-service", baseUrl, coursesServicePoolProperties());
+        var resilience = createResilience("courses-service", coursesServiceResilienceProperties(), meterRegistry);
+        if (coalescingEnabled) {
+            log.debug("CourseServiceClient coalescing lookups every {}ms or {} ids", coalescingWindowMs, coalescingMaxBatchSize);
+            return new CourseServiceClient(webClient, resilience, Duration.ofMillis(coalescingWindowMs), coalescingMaxBatchSize);
+        }
+        return new CourseServiceClient(webClient, resilience);
     }
 
     @Bean
     public StudentServiceClientAsynchronous studentServiceClientAsynchronous(@Value("${app.students-service.host}") String studentServiceHost,
-                                                                 @Value("${app.students-service.port}") String studentServicePort) {
+                                                                 @Value("${app.students-service.port}") String studentServicePort,
+                                                                 @Value("${app.students-service.cache.enabled:true}") boolean cacheEnabled,
+                                                                 @Value("${app.students-service.cache.maximum-size:10000}") long cacheMaximumSize,
+                                                                 @Value("${app.students-service.cache.ttl-seconds:300}") long cacheTtlSeconds,
+                                                                 @Value("${app.students-service.cache.negative-ttl-seconds:30}") long cacheNegativeTtlSeconds,
+                                                                 MeterRegistry meterRegistry) {
 
         var baseUrl = "http://" + studentServiceHost + ":" + studentServicePort + "/api/v1/students";
         log.debug("StudentServiceClientAsynchronous baseUrl: {}", baseUrl);
-        return new StudentServiceClientAsynchronous(createWebClient(baseUrl));
+        var webClient = createWebClient("students-service", baseUrl, studentsServicePoolProperties());
+        var resilience = createResilience("students-service", studentsServiceResilienceProperties(), meterRegistry);
+        if (cacheEnabled) {
+            log.debug("StudentServiceClientAsynchronous caching up to {} students for {}s", cacheMaximumSize, cacheTtlSeconds);
+            return new StudentServiceClientAsynchronous(webClient, resilience, cacheMaximumSize,
+                    Duration.ofSeconds(cacheTtlSeconds), Duration.ofSeconds(cacheNegativeTtlSeconds), meterRegistry);
+        }
+        return new StudentServiceClientAsynchronous(webClient, resilience);
     }
 
+    //the JDK HttpClient keeps connections alive and reuses them, unlike the default SimpleClientHttpRequestFactory
     @Bean
     RestTemplate restTemplate()
     {
-        return new RestTemplate();
+        HttpClientPoolProperties pool = studentsServicePoolProperties();
+        var requestFactory = new JdkClientHttpRequestFactory(java.net.http.HttpClient.newBuilder()
+                .connectTimeout(pool.getConnectTimeout())
+                .build());
+        requestFactory.setReadTimeout(pool.getResponseTimeout());
+        return new RestTemplate(requestFactory);
     }
 
     @Bean
     public StudentServiceClientSynchronous studentServiceClientSynchronous(@Value("${app.students-service.host}") String studentServiceHost,
                                                                            @Value("${app.students-service.port}") String studentServicePort,
+                                                                           @Value("${app.students-service.virtual-threads.max-concurrency:200}") int virtualThreadMaxConcurrency,
                                                                            RestTemplate restTemplate,
                                                                            ObjectMapper mapper
     ) {
 
         var baseUrl = "http://" + studentServiceHost + ":" + studentServicePort + "/api/v1/students";
         log.debug("StudentServiceClientSynchronous baseUrl: {}", baseUrl);
-        return new StudentServiceClientSynchronous(baseUrl, restTemplate, mapper);
+        return new StudentServiceClientSynchronous(baseUrl, restTemplate, mapper, virtualThreadMaxConcurrency);
     }
 
 
-    private WebClient createWebClient(String baseUrl) {
+    //bulkhead, sliding window circuit breaker and jittered retries for one downstream service, all exported to micrometer
+    private DownstreamResilience createResilience(String name, ResilienceProperties resilience, MeterRegistry meterRegistry) {
+        if (!resilience.isEnabled()) {
+            return DownstreamResilience.none(name);
+        }
+        log.debug("{} resilience: {}", name, resilience);
+
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(resilience.getBulkheadMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+                .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+                .recordException(DownstreamResilience::isTransient)
+                //rejected by our own bulkhead: says nothing about the health of the service
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(resilience.getRetryMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        resilience.getRetryInitialBackoff(), resilience.getRetryBackoffMultiplier(), resilience.getRetryJitter()))
+                .retryOnException(DownstreamResilience::isTransient)
+                .build());
+
+        Bulkhead bulkhead = bulkheads.bulkhead(name);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name);
+        Retry retry = retries.retry(name);
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+
+        return new DownstreamResilience(name, circuitBreaker, bulkhead, retry, meterRegistry,
+                resilience.isHedgingEnabled() ? resilience.getHedgeMinDelay() : null, resilience.getAttemptTimeout());
+    }
+
+    //one dedicated connection pool per downstream service, with pool metrics published to micrometer
+    private WebClient createWebClient(String name, String baseUrl, HttpClientPoolProperties pool) {
         log.info("base url: {}", baseUrl);
+        log.debug("{} pool: {}", name, pool);
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getResponseTimeout())
+                .keepAlive(pool.isKeepAlive());
+        if (pool.isH2c()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
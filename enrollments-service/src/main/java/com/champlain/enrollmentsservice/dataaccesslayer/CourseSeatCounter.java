@@ -0,0 +1,28 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+//number of enrollments of a course in one term, the _id is courseId:enrollmentYear:semester
+@Document("course_seat_counters")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseSeatCounter {
+
+    @Id
+    private String id;
+    private String courseId;
+    private Integer enrollmentYear;
+    private Semester semester;
+    private Integer enrolled;
+
+    public static String idOf(String courseId, Integer enrollmentYear, Semester semester) {
+        return courseId + ":" + enrollmentYear + ":" + semester;
+    }
+}
@@ -0,0 +1,81 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/*
+   Seat counters of CourseSeatCounter, changed only with single document atomic updates so that concurrent
+   enrollments in the same course can never take more seats than its capacity, without any locking.
+
+   A seat is taken with one findAndModify: $inc enrolled where enrolled < capacity. When nothing matches, the
+   course is either full or has no counter yet for the term. A missing counter is created from a count of the
+   enrollments already in the course and term (written before the counters existed, or inserted directly like those
+   of DataLoaderService), then the seat is taken. That count only runs once per course and term.
+ */
+@Component
+public class CourseSeatCounters {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public CourseSeatCounters(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    //emits true when a seat was taken, false when the course is full; a null capacity always takes a seat
+    public Mono<Boolean> reserve(String courseId, Integer enrollmentYear, Semester semester, Integer capacity) {
+        String id = CourseSeatCounter.idOf(courseId, enrollmentYear, semester);
+        Criteria criteria = where("_id").is(id);
+        if (capacity != null) {
+            criteria = criteria.and("enrolled").lt(capacity);
+        }
+        Query seat = query(criteria);
+
+        return takeSeat(seat)
+                .switchIfEmpty(Mono.defer(() -> createIfMissing(id, courseId, enrollmentYear, semester)
+                        .flatMap(created -> created ? takeSeat(seat) : Mono.empty())))
+                .map(counter -> true)
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<CourseSeatCounter> takeSeat(Query seat) {
+        return reactiveMongoTemplate.findAndModify(seat, new Update().inc("enrolled", 1),
+                FindAndModifyOptions.options().returnNew(true), CourseSeatCounter.class);
+    }
+
+    //true when the counter did not exist and does now, created by this call or by a concurrent one
+    private Mono<Boolean> createIfMissing(String id, String courseId, Integer enrollmentYear, Semester semester) {
+        return reactiveMongoTemplate.exists(query(where("_id").is(id)), CourseSeatCounter.class)
+                .flatMap(exists -> exists
+                        ? Mono.just(false)
+                        : reactiveMongoTemplate.count(query(where("courseId").is(courseId)
+                                        .and("enrollmentYear").is(enrollmentYear)
+                                        .and("semester").is(semester)), Enrollment.class)
+                                .flatMap(enrolled -> reactiveMongoTemplate.insert(CourseSeatCounter.builder()
+                                        .id(id)
+                                        .courseId(courseId)
+                                        .enrollmentYear(enrollmentYear)
+                                        .semester(semester)
+                                        .enrolled((int) enrolled.longValue())
+                                        .build()))
+                                .thenReturn(true)
+                                .onErrorResume(DuplicateKeyException.class, ex -> Mono.just(true)));
+    }
+
+    //gives a seat back, after a delete or to compensate a reservation whose enrollment could not be written
+    public Mono<Void> release(String courseId, Integer enrollmentYear, Semester semester) {
+        return reactiveMongoTemplate.updateFirst(
+                        query(where("_id").is(CourseSeatCounter.idOf(courseId, enrollmentYear, semester)).and("enrolled").gt(0)),
+                        new Update().inc("enrolled", -1),
+                        CourseSeatCounter.class)
+                .then();
+    }
+}
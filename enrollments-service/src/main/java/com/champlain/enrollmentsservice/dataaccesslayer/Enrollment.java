@@ -5,15 +5,30 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
+//indexes are created and verified at startup by EnrollmentIndexes, the names are what /api/v1/admin/indexes reports on
+@Document
+@CompoundIndexes({
+        //unique: a student is enrolled at most once in a course per term; its (studentId, enrollmentYear, semester) prefix serves the per student queries
+        @CompoundIndex(name = Enrollment.STUDENT_TERM_COURSE_INDEX, def = "{'studentId': 1, 'enrollmentYear': 1, 'semester': 1, 'courseId': 1}", unique = true),
+        @CompoundIndex(name = "courseId_enrollmentYear_semester", def = "{'courseId': 1, 'enrollmentYear': 1, 'semester': 1}")
+})
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Enrollment {
 
+    //named in the duplicate key error of a second enrollment of a student in a course and term
+    public static final String STUDENT_TERM_COURSE_INDEX = "studentId_enrollmentYear_semester_courseId";
+
     @Id
     private String id;
+    @Indexed(name = "enrollmentId", unique = true)
     private String enrollmentId;
     private Integer enrollmentYear;
     private Semester semester;
@@ -0,0 +1,8 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+//null fields are not filtered on
+public record EnrollmentFilter(String studentId,
+                               String courseId,
+                               Integer enrollmentYear,
+                               Semester semester) {
+}
@@ -0,0 +1,68 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+   The indexes declared on Enrollment (@Indexed, @CompoundIndexes), created explicitly since
+   spring.data.mongodb.auto-index-creation is off, and read back to check they are all there.
+ */
+@Component
+@Slf4j
+public class EnrollmentIndexes {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final List<IndexDefinition> declaredIndexes = new ArrayList<>();
+
+    public EnrollmentIndexes(ReactiveMongoTemplate reactiveMongoTemplate, MongoMappingContext mongoMappingContext) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        IndexResolver.create(mongoMappingContext).resolveIndexFor(Enrollment.class).forEach(declaredIndexes::add);
+    }
+
+    public List<String> declaredIndexNames() {
+        return declaredIndexes.stream()
+                .map(index -> (String) index.getIndexOptions().get("name"))
+                .toList();
+    }
+
+    //ensureIndex is a no-op for an index that already exists with the same definition
+    public Flux<String> ensureIndexes() {
+        return Flux.fromIterable(declaredIndexes)
+                .concatMap(index -> reactiveMongoTemplate.indexOps(Enrollment.class).ensureIndex(index))
+                .doOnNext(name -> log.debug("Index {} is in place on {}", name, collectionName()));
+    }
+
+    public Flux<IndexInfo> existingIndexes() {
+        return reactiveMongoTemplate.indexOps(Enrollment.class).getIndexInfo();
+    }
+
+    //one document per index: name, key, accesses.ops/since, spec and, while it is being built, building: true
+    public Flux<Document> indexStats() {
+        return reactiveMongoTemplate.getCollection(collectionName())
+                .flatMapMany(collection -> Flux.from(collection.aggregate(List.of(new Document("$indexStats", new Document())))));
+    }
+
+    public String collectionName() {
+        return reactiveMongoTemplate.getCollectionName(Enrollment.class);
+    }
+
+    public Mono<List<String>> missingIndexNames() {
+        return existingIndexes()
+                .map(IndexInfo::getName)
+                .collectList()
+                .map(existing -> declaredIndexNames().stream()
+                        .filter(name -> !existing.contains(name))
+                        .toList());
+    }
+}
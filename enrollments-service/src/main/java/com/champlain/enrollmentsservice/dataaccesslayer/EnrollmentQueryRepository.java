@@ -0,0 +1,12 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Flux;
+
+public interface EnrollmentQueryRepository {
+
+    //every matching enrollment in _id order, fetched from the server batchSize documents at a time
+    Flux<Enrollment> findByFilter(EnrollmentFilter filter, int batchSize);
+
+    //at most limit matching enrollments with an _id greater than afterId (from the start when null), in _id order
+    Flux<Enrollment> findPageByFilter(EnrollmentFilter filter, String afterId, int limit);
+}
@@ -0,0 +1,63 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/*
+   Filters are only added for the fields that were given, so a studentId or courseId filter (with or without
+   year and semester) is served by the (studentId|courseId, enrollmentYear, semester) indexes of Enrollment.
+ */
+public class EnrollmentQueryRepositoryImpl implements EnrollmentQueryRepository {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public EnrollmentQueryRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Flux<Enrollment> findByFilter(EnrollmentFilter filter, int batchSize) {
+        Query query = new Query(toCriteria(filter, null))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+        return reactiveMongoTemplate.find(query, Enrollment.class);
+    }
+
+    @Override
+    public Flux<Enrollment> findPageByFilter(EnrollmentFilter filter, String afterId, int limit) {
+        Query query = new Query(toCriteria(filter, afterId))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit)
+                .cursorBatchSize(limit);
+        return reactiveMongoTemplate.find(query, Enrollment.class);
+    }
+
+    private static Criteria toCriteria(EnrollmentFilter filter, String afterId) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.studentId() != null) {
+            criteria.add(where("studentId").is(filter.studentId()));
+        }
+        if (filter.courseId() != null) {
+            criteria.add(where("courseId").is(filter.courseId()));
+        }
+        if (filter.enrollmentYear() != null) {
+            criteria.add(where("enrollmentYear").is(filter.enrollmentYear()));
+        }
+        if (filter.semester() != null) {
+            criteria.add(where("semester").is(filter.semester()));
+        }
+        if (afterId != null) {
+            criteria.add(where("_id").gt(new ObjectId(afterId)));
+        }
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+}
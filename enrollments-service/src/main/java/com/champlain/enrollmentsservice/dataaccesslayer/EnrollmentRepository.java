@@ -5,7 +5,9 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface EnrollmentRepository extends ReactiveMongoRepository<Enrollment, String> {
+public interface EnrollmentRepository extends ReactiveMongoRepository<Enrollment, String>, EnrollmentQueryRepository, EnrollmentUpdateRepository {
 
     Mono<Enrollment> findEnrollmentByEnrollmentId(String enrollmentId);
+
+    Mono<Boolean> existsByEnrollmentId(String enrollmentId);
 }
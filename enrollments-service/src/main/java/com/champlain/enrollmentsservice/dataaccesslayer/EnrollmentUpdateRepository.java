@@ -0,0 +1,16 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import reactor.core.publisher.Mono;
+
+//single round trip writes keyed by enrollmentId, changes carries the enrollmentId and the new values
+public interface EnrollmentUpdateRepository {
+
+    //enrollment as it was before, updated only when it is in the same course and term as changes; empty when there is none with that enrollmentId
+    Mono<Enrollment> updateIfInSameCourseAndTerm(Enrollment changes);
+
+    //enrollment as it was before the update, empty when there is none with that enrollmentId
+    Mono<Enrollment> updateReturningPrevious(Enrollment changes);
+
+    //removed enrollment, empty when there is none with that enrollmentId
+    Mono<Enrollment> removeByEnrollmentId(String enrollmentId);
+}
@@ -0,0 +1,80 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/*
+   findAndModify/findAndRemove instead of a find followed by save/delete: one round trip, and $set of the
+   enrollment fields instead of save() replacing the whole document. The fields aren't diffed against the stored
+   document, that would take a read first; the server already skips the write of a field set to its current value.
+ */
+public class EnrollmentUpdateRepositoryImpl implements EnrollmentUpdateRepository {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public EnrollmentUpdateRepositoryImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<Enrollment> updateIfInSameCourseAndTerm(Enrollment changes) {
+        //matched on enrollmentId alone so that the previous document tells apart a missing enrollment from one in
+        //another course or term; courseId, enrollmentYear and semester are compared on the server, and the remaining
+        //fields are only set when they match
+        Document inSameCourseAndTerm = new Document("$and", List.of(
+                new Document("$eq", Arrays.asList("$courseId", changes.getCourseId())),
+                new Document("$eq", Arrays.asList("$enrollmentYear", changes.getEnrollmentYear())),
+                new Document("$eq", Arrays.asList("$semester", changes.getSemester() != null ? changes.getSemester().name() : null))));
+        Document set = new Document()
+                .append("studentId", setWhen(inSameCourseAndTerm, "studentId", changes.getStudentId()))
+                .append("studentFirstName", setWhen(inSameCourseAndTerm, "studentFirstName", changes.getStudentFirstName()))
+                .append("studentLastName", setWhen(inSameCourseAndTerm, "studentLastName", changes.getStudentLastName()))
+                .append("courseNumber", setWhen(inSameCourseAndTerm, "courseNumber", changes.getCourseNumber()))
+                .append("courseName", setWhen(inSameCourseAndTerm, "courseName", changes.getCourseName()));
+        AggregationOperation setStage = context -> new Document("$set", set);
+        return reactiveMongoTemplate.findAndModify(
+                query(where("enrollmentId").is(changes.getEnrollmentId())),
+                AggregationUpdate.from(List.of(setStage)),
+                FindAndModifyOptions.options().returnNew(false),
+                Enrollment.class);
+    }
+
+    //{$cond: [condition, value, $field]}: the field keeps its value when condition is false
+    private static Document setWhen(Document condition, String field, Object value) {
+        return new Document("$cond", Arrays.asList(condition, new Document("$literal", value), "$" + field));
+    }
+
+    @Override
+    public Mono<Enrollment> updateReturningPrevious(Enrollment changes) {
+        Update update = new Update()
+                .set("enrollmentYear", changes.getEnrollmentYear())
+                .set("semester", changes.getSemester())
+                .set("studentId", changes.getStudentId())
+                .set("studentFirstName", changes.getStudentFirstName())
+                .set("studentLastName", changes.getStudentLastName())
+                .set("courseId", changes.getCourseId())
+                .set("courseNumber", changes.getCourseNumber())
+                .set("courseName", changes.getCourseName());
+        return reactiveMongoTemplate.findAndModify(
+                query(where("enrollmentId").is(changes.getEnrollmentId())),
+                update,
+                FindAndModifyOptions.options().returnNew(false),
+                Enrollment.class);
+    }
+
+    @Override
+    public Mono<Enrollment> removeByEnrollmentId(String enrollmentId) {
+        return reactiveMongoTemplate.findAndRemove(query(where("enrollmentId").is(enrollmentId)), Enrollment.class);
+    }
+}
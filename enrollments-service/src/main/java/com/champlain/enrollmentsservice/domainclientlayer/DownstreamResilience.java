@@ -0,0 +1,118 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+   Resilience layer wrapped around the idempotent reads the enrollments write path makes to a downstream service.
+
+   From the outside in: retry with jittered backoff -> circuit breaker -> bulkhead -> attempt timeout -> (optionally hedged) request.
+   The attempt timeout sits inside the circuit breaker, so a timed out attempt is recorded as a failure and retried.
+   An open circuit or a full bulkhead fails fast with ServiceUnavailableException (503) instead of queueing
+   more work on a service that is already struggling.
+   Business answers such as 404/422 (mapped to the application exceptions by the clients) are neither retried
+   nor counted as failures, see isTransient.
+ */
+public class DownstreamResilience {
+
+    private final String serviceName;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final Timer latency;
+    private final Duration hedgeMinDelay;
+    private final Duration attemptTimeout;
+
+    public DownstreamResilience(String serviceName, CircuitBreaker circuitBreaker, Bulkhead bulkhead, Retry retry,
+                                MeterRegistry meterRegistry, Duration hedgeMinDelay, Duration attemptTimeout) {
+        this.serviceName = serviceName;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.retry = retry;
+        this.hedgeMinDelay = hedgeMinDelay;
+        this.attemptTimeout = attemptTimeout;
+        this.latency = meterRegistry == null ? null : Timer.builder("downstream.request")
+                .description("Latency of single requests to a downstream service, used to pick the hedging delay")
+                .tag("service", serviceName)
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+    }
+
+    //pass-through, used when resilience is disabled for a service
+    public static DownstreamResilience none(String serviceName) {
+        return new DownstreamResilience(serviceName, null, null, null, null, null, null);
+    }
+
+    //only for idempotent requests: the request may be retried and, with hedging, sent twice
+    public <T> Mono<T> call(Supplier<Mono<T>> request) {
+        Mono<T> attempt = hedgeMinDelay != null ? hedged(request) : timed(request);
+        if (attemptTimeout != null) {
+            attempt = attempt.timeout(attemptTimeout);
+        }
+        if (bulkhead != null) {
+            attempt = attempt.transformDeferred(BulkheadOperator.of(bulkhead));
+        }
+        if (circuitBreaker != null) {
+            attempt = attempt.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        }
+        if (retry != null) {
+            attempt = attempt.transformDeferred(RetryOperator.of(retry));
+        }
+        return attempt
+                .onErrorMap(CallNotPermittedException.class, ex -> new ServiceUnavailableException(serviceName, ex))
+                .onErrorMap(BulkheadFullException.class, ex -> new ServiceUnavailableException(serviceName, ex));
+    }
+
+    //connection problems, timeouts and 5xx answers are worth retrying and count against the circuit breaker
+    public static boolean isTransient(Throwable ex) {
+        return ex instanceof WebClientRequestException
+                || ex instanceof TimeoutException
+                || (ex instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
+
+    //the first copy to answer (value or error) wins, the other one is cancelled
+    private <T> Mono<T> hedged(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> Mono.firstWithSignal(
+                timed(request),
+                Mono.delay(hedgeDelay()).then(timed(request))));
+    }
+
+    private Duration hedgeDelay() {
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            long p95 = (long) percentile.value(TimeUnit.MILLISECONDS);
+            if (p95 > hedgeMinDelay.toMillis()) {
+                return Duration.ofMillis(p95);
+            }
+        }
+        return hedgeMinDelay;
+    }
+
+    private <T> Mono<T> timed(Supplier<Mono<T>> request) {
+        if (latency == null) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get()
+                    .doOnSuccess(result -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
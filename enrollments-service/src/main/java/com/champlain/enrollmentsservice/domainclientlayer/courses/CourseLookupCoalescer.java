@@ -0,0 +1,131 @@
+package com.champlain.enrollmentsservice.domainclientlayer.courses;
+
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.CourseNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+   Merges single course lookups that arrive close together into one bulk request (DataLoader pattern).
+
+   Ids are queued until either the window elapses or maxBatchSize ids are waiting, whichever comes first,
+   and the whole batch is then resolved with one call to the batch loader.
+   Callers asking for an id that is already queued or in flight share the same pending result.
+
+   A failed batch only fails its own callers. Should the queue itself ever stop, the callers still waiting
+   are failed, a new queue is started, and an id that can't be queued while it restarts is looked up on its own.
+ */
+@Slf4j
+class CourseLookupCoalescer {
+
+    //most ids courses-service accepts in one /batch request
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final Function<Set<String>, Flux<CourseResponseModel>> batchLoader;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Map<String, Sinks.One<CourseResponseModel>> inFlight = new ConcurrentHashMap<>();
+    //serialises emissions: the sink rejects a second producer instead of waiting for the first one
+    private final Object emitLock = new Object();
+    private volatile Sinks.Many<String> pendingIds;
+
+    CourseLookupCoalescer(Function<Set<String>, Flux<CourseResponseModel>> batchLoader, Duration window, int maxBatchSize) {
+        this.batchLoader = batchLoader;
+        this.window = window;
+        if (maxBatchSize > MAX_BATCH_SIZE) {
+            log.warn("Course lookup batch size {} is above the courses-service limit, using {}", maxBatchSize, MAX_BATCH_SIZE);
+        }
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, MAX_BATCH_SIZE));
+        start();
+    }
+
+    private void start() {
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        pendingIds = sink;
+        sink.asFlux()
+                //fair backpressure: ids wait in the buffer instead of overflowing when dispatch falls behind
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMap(this::dispatch)
+                .subscribe(
+                        unused -> { },
+                        ex -> restart(sink, ex),
+                        () -> restart(sink, new IllegalStateException("course lookup queue completed")));
+    }
+
+    private synchronized void restart(Sinks.Many<String> stopped, Throwable cause) {
+        if (pendingIds != stopped) {
+            return;
+        }
+        log.error("Course lookup queue stopped, failing {} waiting lookups and starting a new one", inFlight.size(), cause);
+        inFlight.forEach((courseId, sink) -> complete(courseId, sink, cause));
+        start();
+    }
+
+    Mono<CourseResponseModel> load(String courseId) {
+        return Mono.defer(() -> {
+            Sinks.One<CourseResponseModel> created = Sinks.one();
+            Sinks.One<CourseResponseModel> existing = inFlight.putIfAbsent(courseId, created);
+            if (existing != null) {
+                return existing.asMono();
+            }
+            if (!enqueue(courseId)) {
+                //not queued, nobody else will complete this sink
+                log.warn("Could not queue course lookup {}, looking it up on its own", courseId);
+                dispatch(List.of(courseId)).subscribe();
+            }
+            return created.asMono();
+        });
+    }
+
+    //several request threads may enqueue at the same time, the lock only covers handing the id to the queue
+    private boolean enqueue(String courseId) {
+        synchronized (emitLock) {
+            return pendingIds.tryEmitNext(courseId).isSuccess();
+        }
+    }
+
+    private Mono<Void> dispatch(List<String> batch) {
+        //capture the sinks now so that a newer lookup for the same id is never completed by this batch
+        Map<String, Sinks.One<CourseResponseModel>> sinks = new HashMap<>();
+        for (String courseId : new HashSet<>(batch)) {
+            Sinks.One<CourseResponseModel> sink = inFlight.get(courseId);
+            if (sink != null) {
+                sinks.put(courseId, sink);
+            }
+        }
+        log.debug("Coalesced {} course lookups into one batch of {} ids", batch.size(), sinks.size());
+
+        //defer: a loader throwing instead of returning an error must not reach the queue either
+        return Flux.defer(() -> batchLoader.apply(Set.copyOf(sinks.keySet())))
+                .doOnNext(course -> {
+                    Sinks.One<CourseResponseModel> sink = sinks.remove(course.courseId());
+                    if (sink != null) {
+                        inFlight.remove(course.courseId(), sink);
+                        sink.tryEmitValue(course);
+                    }
+                })
+                .then(Mono.fromRunnable(() -> sinks.forEach((courseId, sink) ->
+                        complete(courseId, sink, new CourseNotFoundException(courseId)))))
+                .onErrorResume(ex -> {
+                    log.debug("Batch of {} course lookups failed: {}", sinks.size(), ex.toString());
+                    sinks.forEach((courseId, sink) -> complete(courseId, sink, ex));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void complete(String courseId, Sinks.One<CourseResponseModel> sink, Throwable error) {
+        inFlight.remove(courseId, sink);
+        sink.tryEmitError(error);
+    }
+}
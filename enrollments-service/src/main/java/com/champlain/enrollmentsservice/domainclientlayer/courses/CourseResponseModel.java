@@ -5,5 +5,7 @@ public record CourseResponseModel(String courseId,
                                   String courseName,
                                   Integer numHours,
                                   Double numCredits,
-                                  String department) {
+                                  String department,
+                                  //seats per term, null when the course has no limit
+                                  Integer capacity) {
 }
@@ -1,27 +1,69 @@
 package com.champlain.enrollmentsservice.domainclientlayer.courses;
 
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamResilience;
 import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Set;
+
 @Slf4j
 public class CourseServiceClient {
 
     private final WebClient webClient;
+    private final DownstreamResilience resilience;
+    private final CourseLookupCoalescer coalescer;
 
     public CourseServiceClient(WebClient webClient) {
+        this(webClient, DownstreamResilience.none("courses-service"));
+    }
+
+    public CourseServiceClient(WebClient webClient, DownstreamResilience resilience) {
+        this.webClient = webClient;
+        this.resilience = resilience;
+        this.coalescer = null;
+    }
+
+    //coalescing mode: lookups arriving within the window are merged into one call to the batch endpoint
+    public CourseServiceClient(WebClient webClient, DownstreamResilience resilience, Duration coalescingWindow, int maxBatchSize) {
         this.webClient = webClient;
+        this.resilience = resilience;
+        this.coalescer = new CourseLookupCoalescer(this::getCoursesByCourseIds, coalescingWindow, maxBatchSize);
     }
 
     public Mono<CourseResponseModel> getCourseByCourseId(final String courseId) {
-        return webClient.get()
+        //malformed ids are sent on their own so the 422 from courses-service stays specific to that id
+        if (coalescer != null && courseId.length() == 36) {
+            return coalescer.load(courseId);
+        }
+        return resilience.call(() -> webClient.get()
                 .uri("/{courseId}", courseId)
                 .retrieve()
                 .bodyToMono(CourseResponseModel.class)
                 .onErrorResume(WebClientResponseException.NotFound.class, ex -> ApplicationExceptions.courseNotFound(courseId))
-                .onErrorResume(WebClientResponseException.UnprocessableEntity.class, ex -> ApplicationExceptions.invalidCourseId(courseId));
+                .onErrorResume(WebClientResponseException.UnprocessableEntity.class, ex -> ApplicationExceptions.invalidCourseId(courseId)));
+    }
+
+    //one round trip for the whole set; only the courses that exist are returned
+    public Flux<CourseResponseModel> getCoursesByCourseIds(final Set<String> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Flux.empty();
+        }
+        //collected so that a retry or a hedge never emits the same course twice
+        return resilience.call(() -> webClient.post()
+                        .uri("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .bodyValue(courseIds)
+                        .retrieve()
+                        .bodyToFlux(CourseResponseModel.class)
+                        .collectList())
+                .flatMapIterable(courses -> courses);
     }
 
 }
@@ -0,0 +1,8 @@
+package com.champlain.enrollmentsservice.domainclientlayer.students;
+
+import java.util.List;
+
+//answer of students-service POST /batch: the students found, and the ids that matched nothing
+public record StudentBatchResponseModel(List<StudentResponseModel> students,
+                                        List<String> missingStudentIds) {
+}
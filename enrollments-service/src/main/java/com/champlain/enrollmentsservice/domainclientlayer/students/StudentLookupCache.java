@@ -0,0 +1,94 @@
+package com.champlain.enrollmentsservice.domainclientlayer.students;
+
+import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.StudentNotFoundException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+   Bounded, TTL based cache for student lookups.
+
+   A burst of misses for the same id shares a single in-flight call (the cache holds the future, not the value).
+   Unknown students are cached as an empty Optional with their own, usually shorter, TTL so that repeated
+   lookups of a bad id don't keep hitting students-service.
+ */
+class StudentLookupCache {
+
+    private final AsyncCache<String, Optional<StudentResponseModel>> cache;
+
+    StudentLookupCache(long maximumSize, Duration ttl, Duration negativeTtl) {
+        this(maximumSize, ttl, negativeTtl, Ticker.systemTicker());
+    }
+
+    //the ticker is the clock expiries are measured with, a test can move it forward instead of sleeping
+    StudentLookupCache(long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Optional<StudentResponseModel>>() {
+                    @Override
+                    public long expireAfterCreate(String studentId, Optional<StudentResponseModel> student, long currentTime) {
+                        return student.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String studentId, Optional<StudentResponseModel> student, long currentTime, long currentDuration) {
+                        return expireAfterCreate(studentId, student, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String studentId, Optional<StudentResponseModel> student, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    Mono<StudentResponseModel> get(String studentId, Function<String, Mono<StudentResponseModel>> loader) {
+        //suppress cancel: one subscriber going away must not cancel the load the other waiters share
+        return Mono.fromFuture(() -> cache.get(studentId, (id, executor) -> loader.apply(id)
+                                .map(Optional::of)
+                                .onErrorResume(StudentNotFoundException.class, ex -> Mono.just(Optional.empty()))
+                                .toFuture()),
+                        true)
+                .flatMap(student -> student
+                        .map(Mono::just)
+                        .orElseGet(() -> ApplicationExceptions.studentNotFound(studentId)));
+    }
+
+    //only the ids that aren't cached (or loading) yet are handed to the batch loader, and every one of them is cached,
+    //found or not; the map holds the students that exist
+    Mono<Map<String, StudentResponseModel>> getAll(Set<String> studentIds, Function<Set<String>, Flux<StudentResponseModel>> batchLoader) {
+        return Mono.fromFuture(() -> cache.getAll(studentIds, (ids, executor) -> {
+                            Set<String> missing = Set.copyOf(ids);
+                            return batchLoader.apply(missing)
+                                    .collectMap(StudentResponseModel::studentId)
+                                    .map(found -> missing.stream()
+                                            .collect(Collectors.toMap(id -> id, id -> Optional.ofNullable(found.get(id)))))
+                                    .toFuture();
+                        }),
+                        true)
+                .map(students -> students.entrySet().stream()
+                        .filter(student -> student.getValue().isPresent())
+                        .collect(Collectors.toMap(Map.Entry::getKey, student -> student.getValue().get())));
+    }
+
+    //exposes cache.gets (hit/miss), cache.evictions, cache.size, ... under /actuator/metrics
+    void bindTo(MeterRegistry meterRegistry, String cacheName) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+    }
+}
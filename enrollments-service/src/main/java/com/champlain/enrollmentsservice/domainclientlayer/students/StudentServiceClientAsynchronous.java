@@ -1,8 +1,11 @@
 package com.champlain.enrollmentsservice.domainclientlayer.students;
 
+import com.champlain.enrollmentsservice.domainclientlayer.DownstreamResilience;
 import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Generated;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException.NotFound;
 import org.springframework.web.reactive.function.client.WebClientResponseException.UnprocessableEntity;
@@ -10,7 +13,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import static java.lang.Thread.currentThread;
@@ -19,22 +25,72 @@ import static java.lang.Thread.currentThread;
 public class StudentServiceClientAsynchronous {
 
     private final WebClient webClient;
+    private final DownstreamResilience resilience;
+    private final StudentLookupCache cache;
 
     private final List<Integer> range = IntStream.rangeClosed(1, 1000)
             .boxed()
             .toList();
 
     public StudentServiceClientAsynchronous(WebClient webClient) {
+        this(webClient, DownstreamResilience.none("students-service"));
+    }
+
+    //resilience only guards the lookups by studentId of the enrollment write path, not the 1000 student fan-outs
+    public StudentServiceClientAsynchronous(WebClient webClient, DownstreamResilience resilience) {
+        this.webClient = webClient;
+        this.resilience = resilience;
+        this.cache = null;
+    }
+
+    //cached mode: student lookups by studentId are served from a bounded TTL cache, see StudentLookupCache
+    public StudentServiceClientAsynchronous(WebClient webClient, DownstreamResilience resilience, long cacheMaximumSize, Duration cacheTtl, Duration cacheNegativeTtl, MeterRegistry meterRegistry) {
         this.webClient = webClient;
+        this.resilience = resilience;
+        this.cache = new StudentLookupCache(cacheMaximumSize, cacheTtl, cacheNegativeTtl);
+        this.cache.bindTo(meterRegistry, "students");
     }
+
     @Generated
     public Mono<StudentResponseModel> getStudentByStudentId(final String studentId) {
-        return this.webClient.get()
-                .uri("/{studentId}", studentId)
+        if (cache != null) {
+            return cache.get(studentId, this::fetchStudentByStudentId);
+        }
+        return fetchStudentByStudentId(studentId);
+    }
+
+    //only the summary: an enrollment keeps the student's names, the stuff column would be read and shipped for nothing
+    private Mono<StudentResponseModel> fetchStudentByStudentId(final String studentId) {
+        return resilience.call(() -> this.webClient.get()
+                .uri("/{studentId}?fields=summary", studentId)
                 .retrieve()
                 .bodyToMono(StudentResponseModel.class)
                 .onErrorResume(NotFound.class, ex -> ApplicationExceptions.studentNotFound(studentId))
-                .onErrorResume(UnprocessableEntity.class, ex -> ApplicationExceptions.invalidStudentId(studentId));
+                .onErrorResume(UnprocessableEntity.class, ex -> ApplicationExceptions.invalidStudentId(studentId)));
+    }
+
+    //one round trip for the whole set, keyed by studentId; students that don't exist are left out.
+    //In cached mode only the ids that aren't cached yet are sent
+    public Mono<Map<String, StudentResponseModel>> getStudentsByStudentIds(final Set<String> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        if (cache != null) {
+            return cache.getAll(studentIds, this::fetchStudentsByStudentIds);
+        }
+        return fetchStudentsByStudentIds(studentIds).collectMap(StudentResponseModel::studentId);
+    }
+
+    //students-service takes at most 1000 ids per /batch request
+    private Flux<StudentResponseModel> fetchStudentsByStudentIds(final Set<String> studentIds) {
+        return resilience.call(() -> this.webClient.post()
+                        .uri("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("studentIds", studentIds))
+                        .retrieve()
+                        .bodyToMono(StudentBatchResponseModel.class))
+                .flatMapIterable(StudentBatchResponseModel::students);
     }
 
         /*
@@ -62,7 +118,7 @@ public class StudentServiceClientAsynchronous {
 
 
         return webClient.get()
-                .uri("/row/{id}", id)
+                .uri("/row/{id}?fields=summary", id)
                 .retrieve()
                 .bodyToMono(StudentResponseModel.class);
 
@@ -7,6 +7,11 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.IntStream;
 
 import static java.lang.Thread.currentThread;
@@ -16,21 +21,24 @@ public class StudentServiceClientSynchronous {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    //caps the in-flight calls of the virtual thread strategy, shared by every request so students-service sees at most this many
+    private final Semaphore virtualThreadPermits;
 
     private final List<Integer> range = IntStream.rangeClosed(1, 1000)
             .boxed()
             .toList();
 
-    public StudentServiceClientSynchronous(String baseUrl, RestTemplate restTemplate, ObjectMapper mapper) {
+    public StudentServiceClientSynchronous(String baseUrl, RestTemplate restTemplate, ObjectMapper mapper, int virtualThreadMaxConcurrency) {
         this.restTemplate = restTemplate;
         this.restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(baseUrl));
         this.mapper = mapper;
+        this.virtualThreadPermits = new Semaphore(virtualThreadMaxConcurrency);
     }
 
     public StudentResponseModel getStudentSync(int id) {
 
         //gets student by the database row id
-        return restTemplate.getForObject("/row/" + id, StudentResponseModel.class);
+        return restTemplate.getForObject("/row/" + id + "?fields=summary", StudentResponseModel.class);
     }
 
 
@@ -78,4 +86,45 @@ enrollments-service  | 2024-08-13T19:46:23.562Z  INFO 1 --- [enrollments-service
                 })
                 .toList();
     }
+
+    public List<StudentResponseModel> get1000StudentsSyncVirtual() {
+
+        /* one virtual thread per call, each blocked only on its own HTTP call, instead of a handful of commonPool
+           workers; the semaphore keeps the number of concurrent calls to students-service bounded
+         */
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<StudentResponseModel>> futures = range.stream()
+                    .map(i -> executor.submit(() -> getStudentSyncBounded(i)))
+                    .toList();
+
+            List<StudentResponseModel> studentResponseModels = new ArrayList<>(futures.size());
+            for (Future<StudentResponseModel> future : futures) {
+                studentResponseModels.add(awaitStudent(future));
+            }
+            return studentResponseModels;
+        }
+    }
+
+    private StudentResponseModel getStudentSyncBounded(int id) throws InterruptedException {
+        virtualThreadPermits.acquire();
+        try {
+            return getStudentSync(id);
+        } finally {
+            virtualThreadPermits.release();
+        }
+    }
+
+    private static StudentResponseModel awaitStudent(Future<StudentResponseModel> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for students-service", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 }
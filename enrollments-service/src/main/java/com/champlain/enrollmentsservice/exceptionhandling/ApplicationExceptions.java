@@ -1,5 +1,6 @@
 package com.champlain.enrollmentsservice.exceptionhandling;
 
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import com.champlain.enrollmentsservice.exceptionhandling.exceptions.*;
 import reactor.core.publisher.Mono;
 
@@ -45,4 +46,12 @@ public class ApplicationExceptions {
         return Mono.error(new InvalidEnrollmentRequestException("Semester is required"));
     }
 
+    public static <T> Mono<T> courseFull(String courseId, Semester semester, Integer enrollmentYear) {
+        return Mono.error(new CourseFullException(courseId, semester, enrollmentYear));
+    }
+
+    public static <T> Mono<T> invalidFanOut(String reason) {
+        return Mono.error(new InvalidInputException(reason));
+    }
+
 }
@@ -3,13 +3,19 @@ package com.champlain.enrollmentsservice.exceptionhandling;
 
 import com.champlain.enrollmentsservice.exceptionhandling.exceptions.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @RestControllerAdvice
@@ -69,6 +75,39 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(CourseFullException.class)
+    public HttpErrorInfo handleCourseFullException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
+    //raised by the unique (studentId, enrollmentYear, semester, courseId) index of Enrollment on insert or update
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(DuplicateEnrollmentException.class)
+    public HttpErrorInfo handleDuplicateEnrollmentException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
+    //any other unique index, e.g. enrollmentId; the server message names the collection and key, so it isn't returned
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(DuplicateKeyException.class)
+    public HttpErrorInfo handleDuplicateKeyException(ServerHttpRequest request, Exception ex) {
+        log.debug("Duplicate key: {}", ex.getMessage());
+        return new HttpErrorInfo(CONFLICT, request.getPath().value(), "The request conflicts with an existing record");
+    }
+
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public HttpErrorInfo handleServiceUnavailableException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(SERVICE_UNAVAILABLE, request, ex);
+    }
+
+    @ResponseStatus(GATEWAY_TIMEOUT)
+    @ExceptionHandler(TimeoutException.class)
+    public HttpErrorInfo handleTimeoutException(ServerHttpRequest request, Exception ex) {
+        return createHttpErrorInfo(GATEWAY_TIMEOUT, request, ex);
+    }
+
 
 
 
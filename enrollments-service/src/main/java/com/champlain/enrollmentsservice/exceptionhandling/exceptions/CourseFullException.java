@@ -0,0 +1,12 @@
+package com.champlain.enrollmentsservice.exceptionhandling.exceptions;
+
+public class CourseFullException extends RuntimeException {
+
+    private static final String MESSAGE = "Course with id=%s has no seats left for %s %d";
+
+    public CourseFullException() {}
+
+    public CourseFullException(String courseId, Object semester, Integer enrollmentYear) { super(MESSAGE.formatted(courseId, semester, enrollmentYear)); }
+
+    public CourseFullException(Throwable cause) { super(cause); }
+}
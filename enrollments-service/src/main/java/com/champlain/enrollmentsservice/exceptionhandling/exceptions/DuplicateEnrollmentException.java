@@ -0,0 +1,10 @@
+package com.champlain.enrollmentsservice.exceptionhandling.exceptions;
+
+public class DuplicateEnrollmentException extends RuntimeException {
+
+    public static final String MESSAGE = "Student is already enrolled in this course for this term";
+
+    public DuplicateEnrollmentException() { super(MESSAGE); }
+
+    public DuplicateEnrollmentException(Throwable cause) { super(MESSAGE, cause); }
+}
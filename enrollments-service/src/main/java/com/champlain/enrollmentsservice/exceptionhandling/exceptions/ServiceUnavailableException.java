@@ -0,0 +1,15 @@
+package com.champlain.enrollmentsservice.exceptionhandling.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    private static final String MESSAGE = "%s is unavailable, try again later";
+
+    public ServiceUnavailableException() {}
+
+    public ServiceUnavailableException(String serviceName) { super(MESSAGE.formatted(serviceName)); }
+
+    public ServiceUnavailableException(Throwable cause) { super(cause); }
+
+    public ServiceUnavailableException(String serviceName, Throwable cause) { super(MESSAGE.formatted(serviceName), cause); }
+
+}
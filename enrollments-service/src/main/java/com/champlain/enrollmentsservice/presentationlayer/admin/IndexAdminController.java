@@ -0,0 +1,24 @@
+package com.champlain.enrollmentsservice.presentationlayer.admin;
+
+import com.champlain.enrollmentsservice.businesslayer.admin.IndexAdminService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/admin/indexes")
+public class IndexAdminController {
+
+    private final IndexAdminService indexAdminService;
+
+    public IndexAdminController(IndexAdminService indexAdminService) {
+        this.indexAdminService = indexAdminService;
+    }
+
+    @GetMapping(value = "/enrollments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<IndexReportModel> getEnrollmentIndexReport() {
+        return indexAdminService.getEnrollmentIndexReport();
+    }
+}
@@ -0,0 +1,10 @@
+package com.champlain.enrollmentsservice.presentationlayer.admin;
+
+import java.util.List;
+
+//usage of every index of a collection, and warnings for declared indexes that are missing, still building or never used
+public record IndexReportModel(String collection,
+                               List<IndexUsageModel> indexes,
+                               List<String> missingIndexes,
+                               List<String> warnings) {
+}
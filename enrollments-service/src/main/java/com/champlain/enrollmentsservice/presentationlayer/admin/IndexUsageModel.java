@@ -0,0 +1,11 @@
+package com.champlain.enrollmentsservice.presentationlayer.admin;
+
+import java.util.Map;
+
+//one entry of $indexStats: ops is the number of operations that used the index since the counters were reset (since)
+public record IndexUsageModel(String name,
+                              Map<String, Object> key,
+                              long ops,
+                              String since,
+                              boolean building) {
+}
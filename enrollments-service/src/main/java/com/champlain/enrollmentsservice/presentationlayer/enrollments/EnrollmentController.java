@@ -1,6 +1,9 @@
 package com.champlain.enrollmentsservice.presentationlayer.enrollments;
 
 import com.champlain.enrollmentsservice.businesslayer.enrollments.EnrollmentService;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentFilter;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.exceptionhandling.ApplicationExceptions;
 import com.champlain.enrollmentsservice.exceptionhandling.exceptions.InvalidInputException;
 import com.champlain.enrollmentsservice.validation.RequestValidator;
 import lombok.extern.slf4j.Slf4j;
@@ -15,14 +18,36 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/api/v1/enrollments")
 @Slf4j
 public class EnrollmentController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final EnrollmentService enrollmentService;
     public EnrollmentController(EnrollmentService enrollmentService) {
         this.enrollmentService = enrollmentService;
     }
 
+    //every filter is optional, without any the whole collection is streamed
     @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<EnrollmentResponseModel> getEnrollments() {
-        return enrollmentService.getEnrollments();
+    public Flux<EnrollmentResponseModel> getEnrollments(@RequestParam(required = false) String studentId,
+                                                        @RequestParam(required = false) String courseId,
+                                                        @RequestParam(required = false) Integer year,
+                                                        @RequestParam(required = false) Semester semester) {
+        return toFilter(studentId, courseId, year, semester)
+                .flatMapMany(enrollmentService::getEnrollments);
+    }
+
+    //pass the nextCursor of a page as afterId to get the following one
+    @GetMapping(value = "", params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<EnrollmentPageResponseModel> getEnrollmentsPage(@RequestParam(required = false) String studentId,
+                                                                @RequestParam(required = false) String courseId,
+                                                                @RequestParam(required = false) Integer year,
+                                                                @RequestParam(required = false) Semester semester,
+                                                                @RequestParam(required = false) String afterId,
+                                                                @RequestParam int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return toFilter(studentId, courseId, year, semester)
+                .flatMap(filter -> enrollmentService.getEnrollmentsPage(filter, afterId, limit));
     }
 
     @GetMapping(value = "/{enrollmentId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -43,6 +68,12 @@ public class EnrollmentController {
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
 
+    //one JSON enrollment per line in, one result per line out; a bad line, even malformed JSON, is reported without aborting the import
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EnrollmentImportResultModel> importEnrollments(@RequestBody Flux<String> lines) {
+        return enrollmentService.importEnrollments(lines);
+    }
+
     @PutMapping(value = "/{enrollmentId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<EnrollmentResponseModel>> updateEnrollmentByEnrollmentId(@PathVariable String enrollmentId, @RequestBody Mono<EnrollmentRequestModel> enrollmentRequestModel) {
         return Mono.just(enrollmentId)
@@ -65,5 +96,13 @@ public class EnrollmentController {
                 .defaultIfEmpty(ResponseEntity.badRequest().build());
     }
 
-
+    private static Mono<EnrollmentFilter> toFilter(String studentId, String courseId, Integer year, Semester semester) {
+        if (studentId != null && studentId.length() != 36) {
+            return ApplicationExceptions.invalidStudentId(studentId);
+        }
+        if (courseId != null && courseId.length() != 36) {
+            return ApplicationExceptions.invalidCourseId(courseId);
+        }
+        return Mono.just(new EnrollmentFilter(studentId, courseId, year, semester));
+    }
 }
@@ -0,0 +1,16 @@
+package com.champlain.enrollmentsservice.presentationlayer.enrollments;
+
+
+public record EnrollmentImportResultModel(long line,
+    String status,
+    String enrollmentId,
+    String reason){
+
+    public static EnrollmentImportResultModel created(long line, String enrollmentId) {
+        return new EnrollmentImportResultModel(line, "CREATED", enrollmentId, null);
+    }
+
+    public static EnrollmentImportResultModel failed(long line, String reason) {
+        return new EnrollmentImportResultModel(line, "FAILED", null, reason);
+    }
+}
@@ -0,0 +1,8 @@
+package com.champlain.enrollmentsservice.presentationlayer.enrollments;
+
+import java.util.List;
+
+//nextCursor is the afterId to send for the following page, null once the last page has been reached
+public record EnrollmentPageResponseModel(List<EnrollmentResponseModel> enrollments,
+                                          String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.champlain.enrollmentsservice.presentationlayer.stats;
+
+public record CourseEnrollmentCountModel(String courseId,
+                                         String courseNumber,
+                                         String courseName,
+                                         long enrollments) {
+}
@@ -0,0 +1,28 @@
+package com.champlain.enrollmentsservice.presentationlayer.stats;
+
+import com.champlain.enrollmentsservice.businesslayer.stats.EnrollmentStatsService;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/enrollments/stats")
+public class EnrollmentStatsController {
+
+    private final EnrollmentStatsService enrollmentStatsService;
+
+    public EnrollmentStatsController(EnrollmentStatsService enrollmentStatsService) {
+        this.enrollmentStatsService = enrollmentStatsService;
+    }
+
+    //without year and/or semester the counts cover every year and/or semester
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<EnrollmentStatsResponseModel> getEnrollmentStats(@RequestParam(required = false) Integer year,
+                                                                 @RequestParam(required = false) Semester semester) {
+        return enrollmentStatsService.getEnrollmentStats(year, semester);
+    }
+}
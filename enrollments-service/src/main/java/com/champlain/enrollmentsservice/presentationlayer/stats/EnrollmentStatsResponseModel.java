@@ -0,0 +1,14 @@
+package com.champlain.enrollmentsservice.presentationlayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+
+import java.util.List;
+
+//year and semester echo the requested term, null when that part was not filtered on
+public record EnrollmentStatsResponseModel(Integer enrollmentYear,
+                                           Semester semester,
+                                           long totalEnrollments,
+                                           List<TermEnrollmentCountModel> byTerm,
+                                           List<CourseEnrollmentCountModel> byCourse,
+                                           List<StudentEnrollmentCountModel> byStudent) {
+}
@@ -0,0 +1,7 @@
+package com.champlain.enrollmentsservice.presentationlayer.stats;
+
+public record StudentEnrollmentCountModel(String studentId,
+                                          String studentFirstName,
+                                          String studentLastName,
+                                          long enrollments) {
+}
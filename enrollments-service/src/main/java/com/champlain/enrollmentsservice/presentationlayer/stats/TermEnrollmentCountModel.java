@@ -0,0 +1,8 @@
+package com.champlain.enrollmentsservice.presentationlayer.stats;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+
+public record TermEnrollmentCountModel(Integer enrollmentYear,
+                                       Semester semester,
+                                       long enrollments) {
+}
@@ -0,0 +1,15 @@
+package com.champlain.enrollmentsservice.presentationlayer.students;
+
+//outcome of one /fanout run: how long it took and how the calls were spread over threads, instead of the students themselves
+public record FanOutSummaryModel(String mode,
+                                 String scheduler,
+                                 int n,
+                                 int concurrency,
+                                 int prefetch,
+                                 long succeeded,
+                                 long errors,
+                                 long elapsedMs,
+                                 double throughputPerSecond,
+                                 int distinctThreads,
+                                 int maxInFlight) {
+}
@@ -2,28 +2,46 @@ package com.champlain.enrollmentsservice.presentationlayer.students;
 
 import com.champlain.enrollmentsservice.businesslayer.students.StudentService;
 import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.LocalTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @RestController
 @Slf4j
 @RequestMapping("api/v1/students")
 public class StudentController {
 
+    //the strategies timed by timed(), each with its own students.fanout.active and students.fanout meters
+    private static final List<String> STRATEGIES = List.of("syncloop", "syncparallel", "syncvirtual", "async", "asyncparallel", "asyncbounded", "fanout");
+
     private final StudentService studentService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, FanOutMeters> fanOutMeters;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, MeterRegistry meterRegistry) {
         this.studentService = studentService;
+        this.meterRegistry = meterRegistry;
+        this.fanOutMeters = STRATEGIES.stream()
+                .collect(Collectors.toUnmodifiableMap(strategy -> strategy, strategy -> FanOutMeters.register(strategy, meterRegistry)));
     }
 
     //@GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -33,48 +51,98 @@ public class StudentController {
     }
 
 
+    //the sync strategies block until all 1000 calls are done, so they run on boundedElastic instead of the netty event loop
     @GetMapping(value = "/syncloop", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<StudentResponseModel>> get1000StudentsSync() {
-        LocalTime start = LocalTime.now();
-        List<StudentResponseModel> students = studentService.get1000StudentsSyncLoop();
-        log.debug("Time taken to get 1000 students with syncloop: \t{}", LocalTime.now().minusNanos(start.toNanoOfDay()).toNanoOfDay());
-        return ResponseEntity.ok().body(students);
+    public Mono<ResponseEntity<List<StudentResponseModel>>> get1000StudentsSync() {
+        return timed(offEventLoop(() -> ResponseEntity.ok().body(studentService.get1000StudentsSyncLoop())), "syncloop");
     }
 
     @GetMapping(value = "/syncparallel", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<StudentResponseModel>> get1000StudentsSyncParallel() {
-        LocalTime start = LocalTime.now();
-        List<StudentResponseModel> students = studentService.get1000StudentsSyncParallel();
-        log.debug("Time taken to get 1000 students with syncparallel: \t{}", LocalTime.now().minusNanos(start.toNanoOfDay()).toNanoOfDay());
-        return ResponseEntity.ok().body(students);
+    public Mono<ResponseEntity<List<StudentResponseModel>>> get1000StudentsSyncParallel() {
+        return timed(offEventLoop(() -> ResponseEntity.ok().body(studentService.get1000StudentsSyncParallel())), "syncparallel");
+    }
+
+    @GetMapping(value = "/syncvirtual", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<StudentResponseModel>>> get1000StudentsSyncVirtual() {
+        return timed(offEventLoop(() -> ResponseEntity.ok().body(studentService.get1000StudentsSyncVirtual())), "syncvirtual");
     }
 
     @GetMapping(value = "/async", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<StudentResponseModel> get1000StudentsAsync() {
-        LocalTime start = LocalTime.now();
-        Flux<StudentResponseModel> students = studentService.get1000StudentsAsync();
-        log.debug("Time taken to get 1000 students with async: \t\t{}", LocalTime.now().minusNanos(start.toNanoOfDay()).toNanoOfDay());
-        return students;
+        return timed(studentService.get1000StudentsAsync(), "async");
     }
 
     @GetMapping(value = "/asyncparallel", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<StudentResponseModel> get1000StudentsAsyncParallel() {
-        LocalTime start = LocalTime.now();
-        Flux<StudentResponseModel> students = studentService.get1000StudentsAsyncParallel();
-        log.debug("Time taken to get 1000 students with asyncparallel: \t{}", LocalTime.now().minusNanos(start.toNanoOfDay()).toNanoOfDay());
-        return students;
+        return timed(studentService.get1000StudentsAsyncParallel(), "asyncparallel");
     }
 
     @GetMapping(value = "/asyncbounded", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<StudentResponseModel> get1000StudentsAsyncBounded() {
-        LocalTime start = LocalTime.now();
-        Flux<StudentResponseModel> students = studentService.get1000StudentsAsyncBounded();
-        log.debug("Time taken to get 1000 students with asyncbounded: \t{}", LocalTime.now().minusNanos(start.toNanoOfDay()).toNanoOfDay());
-        return students;
+        return timed(studentService.get1000StudentsAsyncBounded(), "asyncbounded");
+    }
+
+    //e.g. /fanout?n=1000&concurrency=256&prefetch=32&scheduler=boundedElastic&mode=async
+    @GetMapping(value = "/fanout", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<FanOutSummaryModel> fanOut(@RequestParam(defaultValue = "1000") int n,
+                                           @RequestParam(defaultValue = "256") int concurrency,
+                                           @RequestParam(defaultValue = "32") int prefetch,
+                                           @RequestParam(defaultValue = "immediate") String scheduler,
+                                           @RequestParam(defaultValue = "async") String mode) {
+        return timed(studentService.fanOut(n, concurrency, prefetch, scheduler, mode), "fanout");
     }
 
     @GetMapping(value = "/{studentId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Mono<StudentResponseModel>> getStudentByStudentId(@PathVariable String studentId) {
         return ResponseEntity.ok().body(studentService.getStudentByStudentId(studentId));
     }
+
+    private <T> Flux<T> timed(Flux<T> fanOut, String strategy) {
+        return Flux.defer(() -> fanOut.doFinally(startTiming(strategy)));
+    }
+
+    private <T> Mono<T> timed(Mono<T> fanOut, String strategy) {
+        return Mono.defer(() -> fanOut.doFinally(startTiming(strategy)));
+    }
+
+    //measures one fan-out from subscription to completion, error or cancellation; the long task timer shows the ones still running
+    private Consumer<SignalType> startTiming(String strategy) {
+        FanOutMeters meters = fanOutMeters.get(strategy);
+        LongTaskTimer.Sample active = meters.active().start();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return signal -> {
+            active.stop();
+            sample.stop(meters.durations().getOrDefault(signal, meters.durations().get(SignalType.ON_CANCEL)));
+        };
+    }
+
+    //registered once per strategy and outcome, so that timing a fan-out doesn't look its meters up in the registry
+    private record FanOutMeters(LongTaskTimer active, Map<SignalType, Timer> durations) {
+
+        static FanOutMeters register(String strategy, MeterRegistry meterRegistry) {
+            LongTaskTimer active = LongTaskTimer.builder("students.fanout.active")
+                    .description("Student fan-outs currently in progress")
+                    .tag("strategy", strategy)
+                    .register(meterRegistry);
+            Map<SignalType, Timer> durations = new EnumMap<>(SignalType.class);
+            durations.put(SignalType.ON_COMPLETE, duration(strategy, "success", meterRegistry));
+            durations.put(SignalType.ON_ERROR, duration(strategy, "error", meterRegistry));
+            durations.put(SignalType.ON_CANCEL, duration(strategy, "cancelled", meterRegistry));
+            return new FanOutMeters(active, durations);
+        }
+
+        private static Timer duration(String strategy, String outcome, MeterRegistry meterRegistry) {
+            return Timer.builder("students.fanout")
+                    .description("Duration of a student fan-out (1000 students, or n for /fanout), from subscription to the last student")
+                    .tag("strategy", strategy)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    private static <T> Mono<T> offEventLoop(Callable<T> blockingCall) {
+        return Mono.fromCallable(blockingCall)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
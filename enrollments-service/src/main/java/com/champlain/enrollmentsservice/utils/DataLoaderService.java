@@ -5,6 +5,7 @@ import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
 import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -44,7 +45,9 @@ public class DataLoaderService implements CommandLineRunner {
 
         Flux.just(enrollment1, enrollment2)
                 .flatMap(s -> enrollmentRepository.insert(Mono.just(s))
-                        .log(s.toString()))
+                        .log(s.toString())
+                        //already loaded by a previous start, rejected by the unique enrollmentId index
+                        .onErrorResume(DuplicateKeyException.class, e -> Mono.empty()))
                 .subscribe();  //if you don't subscribe, nothing happens
     }
 }
@@ -0,0 +1,47 @@
+package com.champlain.enrollmentsservice.utils;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentIndexes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+//runs before DataLoaderService so the unique enrollmentId index exists before the first insert
+@Service
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EnrollmentIndexInitializer implements CommandLineRunner {
+
+    private final EnrollmentIndexes enrollmentIndexes;
+    private final boolean failOnMissing;
+    private final Duration timeout;
+
+    public EnrollmentIndexInitializer(EnrollmentIndexes enrollmentIndexes,
+                                      @Value("${app.enrollments.indexes.fail-on-missing:true}") boolean failOnMissing,
+                                      @Value("${app.enrollments.indexes.timeout-seconds:60}") long timeoutSeconds) {
+        this.enrollmentIndexes = enrollmentIndexes;
+        this.failOnMissing = failOnMissing;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public void run(String... args) {
+        List<String> missing = enrollmentIndexes.ensureIndexes()
+                .then(enrollmentIndexes.missingIndexNames())
+                .block(timeout);
+
+        if (missing == null || missing.isEmpty()) {
+            log.info("Indexes of {} verified: {}", enrollmentIndexes.collectionName(), enrollmentIndexes.declaredIndexNames());
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing indexes on " + enrollmentIndexes.collectionName() + ": " + missing);
+        }
+        log.warn("Missing indexes on {}: {}", enrollmentIndexes.collectionName(), missing);
+    }
+}
@@ -0,0 +1,443 @@
+package com.champlain.enrollmentsservice.businesslayer.enrollments;
+
+import com.champlain.enrollmentsservice.businesslayer.stats.EnrollmentStatsService;
+import com.champlain.enrollmentsservice.dataaccesslayer.CourseSeatCounters;
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.EnrollmentRepository;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseServiceClient;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.CourseFullException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.DuplicateEnrollmentException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.EnrollmentNotFoundException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.ServiceUnavailableException;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentImportResultModel;
+import com.champlain.enrollmentsservice.presentationlayer.enrollments.EnrollmentRequestModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentServiceImplTest {
+
+    private static final String STUDENT_ID = "c3540a89-cb47-4c96-888e-ff96708db4d8";
+    private static final String COURSE_ID = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
+    private static final String OTHER_COURSE_ID = "d819e4f4-25af-4d33-91e9-2c45f0071606";
+    private static final String ENROLLMENT_ID = "06a7d573-bcab-4db3-956f-773324b92a80";
+
+    @Mock
+    private StudentServiceClientAsynchronous studentClient;
+    @Mock
+    private CourseServiceClient courseClient;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private EnrollmentStatsService enrollmentStatsService;
+    @Mock
+    private CourseSeatCounters courseSeatCounters;
+    @Mock
+    private ReactiveBulkOperations bulkOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EnrollmentServiceImpl enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        enrollmentService = new EnrollmentServiceImpl(studentClient, courseClient, enrollmentRepository, reactiveMongoTemplate,
+                enrollmentStatsService, courseSeatCounters, meterRegistry, new ObjectMapper(), 5000, 5000);
+    }
+
+    @Test
+    void importEnrollments_withMalformedAndInvalidLines_thenEachIsReportedOnItsOwnLine() {
+        // Arrange
+        Flux<String> lines = Flux.just(
+                "{\"enrollmentYear\": 2025, \"semester\": \"FALL\", \"studentId\": ",
+                "",
+                "{\"enrollmentYear\": 2025, \"semester\": \"AUTUMN\", \"studentId\": \"" + STUDENT_ID + "\", \"courseId\": \"" + COURSE_ID + "\"}",
+                "{\"enrollmentYear\": 2025, \"semester\": \"FALL\", \"courseId\": \"" + COURSE_ID + "\"}");
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.importEnrollments(lines))
+                .expectNextMatches(result -> isFailed(result, 1, "Malformed JSON"))
+                .expectNextMatches(result -> isFailed(result, 3, "Malformed JSON"))
+                .expectNextMatches(result -> result.line() == 4 && result.status().equals("FAILED"))
+                .verifyComplete();
+
+        verifyNoInteractions(courseClient, studentClient, courseSeatCounters, reactiveMongoTemplate);
+    }
+
+    @Test
+    void importEnrollments_withCourseLookupFailing_thenOnlyTheRowsWaitingOnItFail() {
+        // Arrange
+        Flux<String> lines = Flux.just(
+                importLine(COURSE_ID),
+                "not json",
+                importLine(OTHER_COURSE_ID));
+        when(courseClient.getCoursesByCourseIds(Set.of(COURSE_ID, OTHER_COURSE_ID)))
+                .thenReturn(Flux.error(new ServiceUnavailableException("courses-service")));
+        when(studentClient.getStudentsByStudentIds(Set.of(STUDENT_ID))).thenReturn(Mono.just(Map.of(STUDENT_ID, student())));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.importEnrollments(lines))
+                .expectNextMatches(result -> isFailed(result, 1, "Course lookup failed"))
+                .expectNextMatches(result -> isFailed(result, 2, "Malformed JSON"))
+                .expectNextMatches(result -> isFailed(result, 3, "Course lookup failed"))
+                .verifyComplete();
+
+        verifyNoInteractions(courseSeatCounters, reactiveMongoTemplate);
+        verify(enrollmentStatsService, never()).evictTerm(any(), any());
+    }
+
+    @Test
+    void importEnrollments_withValidLines_thenStudentsAreLookedUpInOneBatchAndOnlyTheirTermIsEvicted() {
+        // Arrange
+        Flux<String> lines = Flux.just(
+                importLine(COURSE_ID),
+                importLine(OTHER_COURSE_ID));
+        when(courseClient.getCoursesByCourseIds(Set.of(COURSE_ID, OTHER_COURSE_ID)))
+                .thenReturn(Flux.just(course(COURSE_ID, 30), course(OTHER_COURSE_ID, 30)));
+        when(studentClient.getStudentsByStudentIds(Set.of(STUDENT_ID))).thenReturn(Mono.just(Map.of(STUDENT_ID, student())));
+        when(courseSeatCounters.reserve(any(), eq(2025), eq(Semester.FALL), eq(30))).thenReturn(Mono.just(true));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.importEnrollments(lines))
+                .expectNextMatches(result -> result.line() == 1 && result.status().equals("CREATED"))
+                .expectNextMatches(result -> result.line() == 2 && result.status().equals("CREATED"))
+                .verifyComplete();
+
+        verify(studentClient, never()).getStudentByStudentId(any());
+        verify(enrollmentStatsService).evictTerm(2025, Semester.FALL);
+    }
+
+    @Test
+    void importEnrollments_withUnknownStudent_thenOnlyItsLinesFail() {
+        // Arrange
+        Flux<String> lines = Flux.just(importLine(COURSE_ID));
+        when(courseClient.getCoursesByCourseIds(Set.of(COURSE_ID))).thenReturn(Flux.just(course(COURSE_ID, 30)));
+        when(studentClient.getStudentsByStudentIds(Set.of(STUDENT_ID))).thenReturn(Mono.just(Map.of()));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.importEnrollments(lines))
+                .expectNextMatches(result -> isFailed(result, 1, "Student with id=" + STUDENT_ID + " is not found"))
+                .verifyComplete();
+
+        verifyNoInteractions(courseSeatCounters, reactiveMongoTemplate);
+    }
+
+    @Test
+    void addEnrollment_withFullCourse_thenThrowCourseFullAndSaveNothing() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 1);
+        when(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1)).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(request(COURSE_ID))))
+                .expectError(CourseFullException.class)
+                .verify();
+
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    void addEnrollment_withSaveFailing_thenGiveTheSeatBack() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 30);
+        when(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.save(any(Enrollment.class)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("mongodb is down")));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(request(COURSE_ID))))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+
+        verify(courseSeatCounters).release(COURSE_ID, 2025, Semester.FALL);
+    }
+
+    @Test
+    void addEnrollment_withStudentAlreadyInCourseAndTerm_thenThrowDuplicateEnrollment() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 30);
+        when(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(Mono.error(duplicateKey(Enrollment.STUDENT_TERM_COURSE_INDEX)));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(request(COURSE_ID))))
+                .expectError(DuplicateEnrollmentException.class)
+                .verify();
+    }
+
+    @Test
+    void addEnrollment_withEnrollmentIdCollision_thenKeepTheDuplicateKeyError() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 30);
+        when(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(Mono.error(duplicateKey("enrollmentId")));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(request(COURSE_ID))))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    void addEnrollment_cancelledDuringSave_thenGiveTheSeatBackIfNothingWasWritten() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 30);
+        when(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(Mono.never());
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Enrollment.class))).thenReturn(Mono.just(false));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(enrollmentService.addEnrollment(Mono.just(request(COURSE_ID))))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        // Assert: the seat is given back in the background
+        verify(courseSeatCounters, timeout(1000)).release(COURSE_ID, 2025, Semester.FALL);
+    }
+
+    @Test
+    void updateEnrollment_movingToAFullCourse_thenThrowCourseFullAndLeaveTheEnrollment() {
+        // Arrange
+        givenStudentAndCourse(OTHER_COURSE_ID, 1);
+        when(enrollmentRepository.updateIfInSameCourseAndTerm(any(Enrollment.class))).thenReturn(Mono.just(enrollment(COURSE_ID)));
+        when(courseSeatCounters.reserve(OTHER_COURSE_ID, 2025, Semester.FALL, 1)).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(OTHER_COURSE_ID)), ENROLLMENT_ID))
+                .expectError(CourseFullException.class)
+                .verify();
+
+        verify(enrollmentRepository, never()).updateReturningPrevious(any(Enrollment.class));
+        verify(courseSeatCounters, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void updateEnrollment_movingToAnotherCourse_thenTheSeatMovesWithIt() {
+        // Arrange
+        givenStudentAndCourse(OTHER_COURSE_ID, 30);
+        when(enrollmentRepository.updateIfInSameCourseAndTerm(any(Enrollment.class))).thenReturn(Mono.just(enrollment(COURSE_ID)));
+        when(courseSeatCounters.reserve(OTHER_COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.updateReturningPrevious(any(Enrollment.class))).thenReturn(Mono.just(enrollment(COURSE_ID)));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(OTHER_COURSE_ID)), ENROLLMENT_ID))
+                .expectNextMatches(updated -> updated.enrollmentId().equals(ENROLLMENT_ID)
+                        && updated.courseId().equals(OTHER_COURSE_ID))
+                .verifyComplete();
+
+        verify(courseSeatCounters).release(COURSE_ID, 2025, Semester.FALL);
+        verify(courseSeatCounters, never()).release(eq(OTHER_COURSE_ID), any(), any());
+    }
+
+    @Test
+    void updateEnrollment_inTheSameCourseAndTerm_thenUpdateInPlaceWithoutTakingASeat() {
+        // Arrange
+        givenStudentAndCourse(COURSE_ID, 30);
+        when(enrollmentRepository.updateIfInSameCourseAndTerm(any(Enrollment.class))).thenReturn(Mono.just(enrollment(COURSE_ID)));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(COURSE_ID)), ENROLLMENT_ID))
+                .expectNextMatches(updated -> updated.enrollmentId().equals(ENROLLMENT_ID)
+                        && updated.courseId().equals(COURSE_ID))
+                .verifyComplete();
+
+        verifyNoInteractions(courseSeatCounters);
+        verify(enrollmentRepository, never()).updateReturningPrevious(any(Enrollment.class));
+    }
+
+    @Test
+    void updateEnrollment_withMissingId_thenThrowEnrollmentNotFoundWithoutTakingASeat() {
+        // Arrange
+        givenStudentAndCourse(OTHER_COURSE_ID, 30);
+        when(enrollmentRepository.updateIfInSameCourseAndTerm(any(Enrollment.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(OTHER_COURSE_ID)), ENROLLMENT_ID))
+                .expectError(EnrollmentNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(courseSeatCounters);
+    }
+
+    @Test
+    void updateEnrollment_deletedWhileMoving_thenThrowEnrollmentNotFoundAndGiveTheNewSeatBack() {
+        // Arrange
+        givenStudentAndCourse(OTHER_COURSE_ID, 30);
+        when(enrollmentRepository.updateIfInSameCourseAndTerm(any(Enrollment.class))).thenReturn(Mono.just(enrollment(COURSE_ID)));
+        when(courseSeatCounters.reserve(OTHER_COURSE_ID, 2025, Semester.FALL, 30)).thenReturn(Mono.just(true));
+        when(enrollmentRepository.updateReturningPrevious(any(Enrollment.class))).thenReturn(Mono.empty());
+        when(courseSeatCounters.release(OTHER_COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(OTHER_COURSE_ID)), ENROLLMENT_ID))
+                .expectError(EnrollmentNotFoundException.class)
+                .verify();
+
+        verify(courseSeatCounters).release(OTHER_COURSE_ID, 2025, Semester.FALL);
+    }
+
+    @Test
+    void updateEnrollment_withMissingIdAndFailingLookup_thenThrowEnrollmentNotFound() {
+        // Arrange
+        when(studentClient.getStudentByStudentId(STUDENT_ID))
+                .thenReturn(Mono.error(new ServiceUnavailableException("students-service")));
+        when(courseClient.getCourseByCourseId(COURSE_ID)).thenReturn(Mono.never());
+        when(enrollmentRepository.existsByEnrollmentId(ENROLLMENT_ID)).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(COURSE_ID)), ENROLLMENT_ID))
+                .expectError(EnrollmentNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(courseSeatCounters);
+    }
+
+    @Test
+    void updateEnrollment_withExistingIdAndFailingLookup_thenThrowTheLookupError() {
+        // Arrange
+        when(studentClient.getStudentByStudentId(STUDENT_ID))
+                .thenReturn(Mono.error(new ServiceUnavailableException("students-service")));
+        when(courseClient.getCourseByCourseId(COURSE_ID)).thenReturn(Mono.never());
+        when(enrollmentRepository.existsByEnrollmentId(ENROLLMENT_ID)).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.updateEnrollmentByEnrollmentId(Mono.just(request(COURSE_ID)), ENROLLMENT_ID))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteEnrollment_withExistingId_thenGiveItsSeatBack() {
+        // Arrange
+        when(enrollmentRepository.removeByEnrollmentId(ENROLLMENT_ID)).thenReturn(Mono.just(enrollment(COURSE_ID)));
+        when(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.deleteEnrollmentByEnrollmentId(ENROLLMENT_ID))
+                .expectNextMatches(deleted -> deleted.enrollmentId().equals(ENROLLMENT_ID))
+                .verifyComplete();
+
+        verify(courseSeatCounters).release(COURSE_ID, 2025, Semester.FALL);
+        verify(enrollmentStatsService).evictTerm(2025, Semester.FALL);
+    }
+
+    @Test
+    void deleteEnrollment_withMissingId_thenThrowEnrollmentNotFoundAndReleaseNothing() {
+        // Arrange
+        when(enrollmentRepository.removeByEnrollmentId(ENROLLMENT_ID)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(enrollmentService.deleteEnrollmentByEnrollmentId(ENROLLMENT_ID))
+                .expectError(EnrollmentNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(courseSeatCounters);
+    }
+
+    private static DuplicateKeyException duplicateKey(String index) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: enrollments-db.enrollment index: "
+                + index + " dup key: { }");
+    }
+
+    @Test
+    void deleteEnrollment_withMissingId_thenRecordTheDeleteOnTheTimerRegisteredUpFront() {
+        // Arrange: every stage and outcome is registered before any write
+        assertEquals(15, meterRegistry.find("enrollments.write.stage").timers().size());
+        when(enrollmentRepository.removeByEnrollmentId(ENROLLMENT_ID)).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(enrollmentService.deleteEnrollmentByEnrollmentId(ENROLLMENT_ID))
+                .expectError(EnrollmentNotFoundException.class)
+                .verify();
+
+        // Assert: the empty remove completed, the not found error is raised after the stage
+        assertEquals(1, meterRegistry.get("enrollments.write.stage").tags("stage", "delete", "outcome", "success").timer().count());
+        assertEquals(15, meterRegistry.find("enrollments.write.stage").timers().size());
+    }
+
+    private static Enrollment enrollment(String courseId) {
+        return Enrollment.builder()
+                .id("65f1c0ffee0000000000000a")
+                .enrollmentId(ENROLLMENT_ID)
+                .enrollmentYear(2025)
+                .semester(Semester.FALL)
+                .studentId(STUDENT_ID)
+                .studentFirstName("Donna")
+                .studentLastName("Hornsby")
+                .courseId(courseId)
+                .courseNumber("trs-075")
+                .courseName("Web Services")
+                .build();
+    }
+
+    private void givenStudentAndCourse(String courseId, Integer capacity) {
+        when(studentClient.getStudentByStudentId(STUDENT_ID)).thenReturn(Mono.just(student()));
+        when(courseClient.getCourseByCourseId(courseId)).thenReturn(Mono.just(course(courseId, capacity)));
+    }
+
+    private static StudentResponseModel student() {
+        return new StudentResponseModel(STUDENT_ID, "Donna", "Hornsby", "History", null);
+    }
+
+    private static CourseResponseModel course(String courseId, Integer capacity) {
+        return new CourseResponseModel(courseId, "trs-075", "Web Services", 90, 2.0, "Math", capacity);
+    }
+
+    private static EnrollmentRequestModel request(String courseId) {
+        return new EnrollmentRequestModel(2025, Semester.FALL, STUDENT_ID, courseId);
+    }
+
+    private static String importLine(String courseId) {
+        return "{\"enrollmentYear\": 2025, \"semester\": \"FALL\", \"studentId\": \"" + STUDENT_ID + "\", \"courseId\": \"" + courseId + "\"}";
+    }
+
+    private static boolean isFailed(EnrollmentImportResultModel result, long line, String reasonPrefix) {
+        return result.line() == line
+                && result.status().equals("FAILED")
+                && result.reason().startsWith(reasonPrefix);
+    }
+}
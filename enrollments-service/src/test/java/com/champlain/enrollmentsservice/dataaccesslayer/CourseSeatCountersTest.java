@@ -0,0 +1,126 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@DataMongoTest
+@ActiveProfiles("test")
+@Import(CourseSeatCounters.class)
+class CourseSeatCountersTest {
+
+    private static final String COURSE_ID = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
+
+    @Autowired
+    private CourseSeatCounters courseSeatCounters;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        StepVerifier.create(reactiveMongoTemplate.dropCollection(CourseSeatCounter.class)
+                        .then(reactiveMongoTemplate.remove(query(where("courseId").is(COURSE_ID)), Enrollment.class)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_withEnrollmentsWrittenBeforeTheCounter_thenTheyAlreadyTakeTheirSeats() {
+        // Arrange: written straight to the collection, like DataLoaderService does
+        StepVerifier.create(reactiveMongoTemplate.insertAll(List.of(
+                                enrollment("c3540a89-cb47-4c96-888e-ff96708db4d8", Semester.FALL),
+                                enrollment("7e1f0c2a-93d4-4b8e-a5f6-0d2c4e6f8a13", Semester.FALL),
+                                enrollment("7e1f0c2a-93d4-4b8e-a5f6-0d2c4e6f8a13", Semester.WINTER)))
+                        .then())
+                .verifyComplete();
+
+        // Act & Assert: two of the three FALL seats are already taken
+        StepVerifier.create(Flux.range(0, 2)
+                        .concatMap(i -> courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 3)))
+                .expectNext(true, false)
+                .verifyComplete();
+        StepVerifier.create(reactiveMongoTemplate.findById(CourseSeatCounter.idOf(COURSE_ID, 2025, Semester.FALL), CourseSeatCounter.class))
+                .expectNextMatches(counter -> counter.getEnrolled() == 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_concurrentlyBeyondCapacity_thenOnlyCapacitySeatsAreTaken() {
+        // Act & Assert: 20 racing enrollments, the first of which also creates the counter
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 5))
+                        .filter(reserved -> reserved)
+                        .count())
+                .expectNext(5L)
+                .verifyComplete();
+
+        StepVerifier.create(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 5))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void release_ofAFullCourse_thenTheSeatCanBeTakenAgain() {
+        // Arrange
+        StepVerifier.create(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1))
+                .expectNext(true)
+                .verifyComplete();
+
+        // Act & Assert
+        StepVerifier.create(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)
+                        .then(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1)))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_inAnotherTerm_thenItHasItsOwnSeats() {
+        // Arrange
+        StepVerifier.create(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1))
+                .expectNext(true)
+                .verifyComplete();
+
+        // Act & Assert
+        StepVerifier.create(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.WINTER, 1))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void release_withNoSeatTaken_thenNeverGoesBelowZero() {
+        // Arrange
+        StepVerifier.create(courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1)
+                        .then(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL))
+                        .then(courseSeatCounters.release(COURSE_ID, 2025, Semester.FALL)))
+                .verifyComplete();
+
+        // Act & Assert: still only one seat
+        StepVerifier.create(Flux.range(0, 2)
+                        .concatMap(i -> courseSeatCounters.reserve(COURSE_ID, 2025, Semester.FALL, 1)))
+                .expectNext(true, false)
+                .verifyComplete();
+    }
+
+    private static Enrollment enrollment(String studentId, Semester semester) {
+        return Enrollment.builder()
+                .enrollmentId(UUID.randomUUID().toString())
+                .enrollmentYear(2025)
+                .semester(semester)
+                .studentId(studentId)
+                .courseId(COURSE_ID)
+                .build();
+    }
+}
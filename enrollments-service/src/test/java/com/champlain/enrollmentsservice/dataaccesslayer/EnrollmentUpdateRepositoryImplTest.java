@@ -0,0 +1,82 @@
+package com.champlain.enrollmentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataMongoTest
+@ActiveProfiles("test")
+class EnrollmentUpdateRepositoryImplTest {
+
+    private static final String ENROLLMENT_ID = "06a7d573-bcab-4db3-956f-773324b92a80";
+    private static final String COURSE_ID = "9a29fff7-564a-4cc9-8fe1-36f6ca9bc223";
+    private static final String OTHER_COURSE_ID = "d819e4f4-25af-4d33-91e9-2c45f0071606";
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        StepVerifier.create(enrollmentRepository.deleteAll().then(enrollmentRepository.save(enrollment(COURSE_ID, "Hornsby"))))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateIfInSameCourseAndTerm_inTheSameCourseAndTerm_thenUpdateAndReturnThePrevious() {
+        // Act & Assert
+        StepVerifier.create(enrollmentRepository.updateIfInSameCourseAndTerm(enrollment(COURSE_ID, "Hornsby-Smith")))
+                .expectNextMatches(previous -> previous.getStudentLastName().equals("Hornsby"))
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findEnrollmentByEnrollmentId(ENROLLMENT_ID))
+                .expectNextMatches(stored -> stored.getStudentLastName().equals("Hornsby-Smith"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateIfInSameCourseAndTerm_inAnotherCourse_thenLeaveItAndReturnThePrevious() {
+        // Act & Assert
+        StepVerifier.create(enrollmentRepository.updateIfInSameCourseAndTerm(enrollment(OTHER_COURSE_ID, "Hornsby-Smith")))
+                .expectNextMatches(previous -> previous.getCourseId().equals(COURSE_ID))
+                .verifyComplete();
+
+        StepVerifier.create(enrollmentRepository.findEnrollmentByEnrollmentId(ENROLLMENT_ID))
+                .expectNextMatches(stored -> {
+                    assertEquals(COURSE_ID, stored.getCourseId());
+                    assertEquals("Hornsby", stored.getStudentLastName());
+                    return true;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void updateIfInSameCourseAndTerm_withMissingId_thenReturnEmpty() {
+        // Arrange
+        Enrollment changes = enrollment(COURSE_ID, "Hornsby");
+        changes.setEnrollmentId("d7d11b1f-9e0b-4a7e-9cf1-6c1e7f6b5a21");
+
+        // Act & Assert
+        StepVerifier.create(enrollmentRepository.updateIfInSameCourseAndTerm(changes))
+                .verifyComplete();
+    }
+
+    private static Enrollment enrollment(String courseId, String studentLastName) {
+        return Enrollment.builder()
+                .enrollmentId(ENROLLMENT_ID)
+                .enrollmentYear(2025)
+                .semester(Semester.FALL)
+                .studentId("c3540a89-cb47-4c96-888e-ff96708db4d8")
+                .studentFirstName("Donna")
+                .studentLastName(studentLastName)
+                .courseId(courseId)
+                .courseNumber("trs-075")
+                .courseName("Web Services")
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.champlain.enrollmentsservice.domainclientlayer;
+
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DownstreamResilienceTest {
+
+    private static final Duration ATTEMPT_TIMEOUT = Duration.ofMillis(50);
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private Retry retry;
+
+    @BeforeEach
+    void setUp() {
+        //same recording rules as ServiceClientConfig, with a window small enough to trip in a test
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(DownstreamResilience::isTransient)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        retry = Retry.of("test", RetryConfig.custom()
+                .maxAttempts(2)
+                .waitDuration(Duration.ofMillis(10))
+                .retryOnException(DownstreamResilience::isTransient)
+                .build());
+    }
+
+    @Test
+    void call_withSlowDependency_thenEveryAttemptTimesOutIsRetriedAndOpensTheCircuit() {
+        // Arrange
+        DownstreamResilience resilience = new DownstreamResilience("test", circuitBreaker, bulkhead, retry, null, null, ATTEMPT_TIMEOUT);
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<Mono<String>> slowRequest = () -> Mono.delay(Duration.ofSeconds(5))
+                .thenReturn("late")
+                .doOnSubscribe(s -> attempts.incrementAndGet());
+
+        // Act & Assert: two calls of two attempts each fill the window with timeouts
+        StepVerifier.create(resilience.call(slowRequest))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+        StepVerifier.create(resilience.call(slowRequest))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(4, attempts.get());
+        assertEquals(4, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // the open circuit fails fast without calling the dependency
+        StepVerifier.create(resilience.call(slowRequest))
+                .expectError(ServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void call_withTimeoutThenAnswer_thenRetriedAttemptSucceeds() {
+        // Arrange
+        DownstreamResilience resilience = new DownstreamResilience("test", circuitBreaker, bulkhead, retry, null, null, ATTEMPT_TIMEOUT);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(resilience.call(() -> attempts.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn("late")
+                        : Mono.just("on time")))
+                .expectNext("on time")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void call_withFullBulkhead_thenRejectedCallIsNotRecordedByTheCircuitBreaker() {
+        // Arrange
+        DownstreamResilience resilience = new DownstreamResilience("test", circuitBreaker, bulkhead, retry, null, null, Duration.ofSeconds(5));
+        Sinks.One<String> pending = Sinks.one();
+        var inFlight = resilience.call(pending::asMono).subscribe();
+
+        // Act & Assert
+        StepVerifier.create(resilience.call(() -> Mono.just("rejected")))
+                .expectError(ServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+        inFlight.dispose();
+    }
+}
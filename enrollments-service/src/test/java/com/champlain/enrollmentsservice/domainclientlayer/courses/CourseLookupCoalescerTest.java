@@ -0,0 +1,189 @@
+package com.champlain.enrollmentsservice.domainclientlayer.courses;
+
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.CourseNotFoundException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseLookupCoalescerTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(20);
+    private static final Duration VERIFY_TIMEOUT = Duration.ofSeconds(5);
+
+    //records every batch and answers with a course for every id except "missing-..."
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+    private final Function<Set<String>, Flux<CourseResponseModel>> loader = ids -> {
+        batches.add(ids);
+        return Flux.fromIterable(ids)
+                .filter(id -> !id.startsWith("missing"))
+                .map(CourseLookupCoalescerTest::course);
+    };
+
+    @Test
+    void load_withLookupsInTheSameWindow_thenOneBatchResolvesThemAll() {
+        // Arrange
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(loader, WINDOW, 64);
+
+        // Act & Assert
+        StepVerifier.create(Flux.merge(coalescer.load("c1"), coalescer.load("c2"), coalescer.load("c3"))
+                        .map(CourseResponseModel::courseId)
+                        .collectList())
+                .expectNextMatches(ids -> Set.copyOf(ids).equals(Set.of("c1", "c2", "c3")))
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(Set.of("c1", "c2", "c3")), batches);
+    }
+
+    @Test
+    void load_withDuplicateIds_thenTheIdIsRequestedOnceAndEveryCallerGetsIt() {
+        // Arrange
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(loader, WINDOW, 64);
+
+        // Act & Assert
+        StepVerifier.create(Flux.merge(coalescer.load("c1"), coalescer.load("c1"), coalescer.load("c1")))
+                .expectNextCount(3)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        assertEquals(List.of(Set.of("c1")), batches);
+    }
+
+    @Test
+    void load_withUnknownId_thenOnlyThatCallerGetsCourseNotFound() {
+        // Arrange
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(loader, WINDOW, 64);
+        Mono<CourseResponseModel> missing = coalescer.load("missing-1");
+        Mono<CourseResponseModel> found = coalescer.load("c1");
+
+        // Act & Assert
+        StepVerifier.create(missing)
+                .expectError(CourseNotFoundException.class)
+                .verify(VERIFY_TIMEOUT);
+        StepVerifier.create(found)
+                .expectNextMatches(course -> course.courseId().equals("c1"))
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void load_withFailedBatch_thenItsCallersFailAndTheNextLookupsStillWork() {
+        // Arrange
+        RuntimeException down = new IllegalStateException("courses-service down");
+        List<Set<String>> calls = new CopyOnWriteArrayList<>();
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(ids -> {
+            calls.add(ids);
+            return calls.size() == 1 ? Flux.error(down) : loader.apply(ids);
+        }, WINDOW, 64);
+
+        // Act & Assert: every caller of the failed batch gets its error
+        StepVerifier.create(Flux.mergeDelayError(2, coalescer.load("c1"), coalescer.load("c2")))
+                .expectErrorMatches(ex -> ex == down)
+                .verify(VERIFY_TIMEOUT);
+
+        // the failed ids are not stuck in flight and the queue keeps serving lookups
+        StepVerifier.create(Flux.merge(coalescer.load("c1"), coalescer.load("c3")).count())
+                .expectNext(2L)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void load_withLoaderThrowing_thenCallersFailAndTheQueueSurvives() {
+        // Arrange
+        List<Set<String>> calls = new CopyOnWriteArrayList<>();
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(ids -> {
+            calls.add(ids);
+            if (calls.size() == 1) {
+                throw new IllegalStateException("bug in the loader");
+            }
+            return loader.apply(ids);
+        }, WINDOW, 64);
+
+        // Act & Assert
+        StepVerifier.create(coalescer.load("c1"))
+                .expectError(IllegalStateException.class)
+                .verify(VERIFY_TIMEOUT);
+        StepVerifier.create(coalescer.load("c1"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+    }
+
+    @Test
+    void load_withBatchSizeAboveTheCoursesServiceLimit_thenBatchesAreCapped() {
+        // Arrange
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(loader, WINDOW, 5000);
+
+        // Act
+        StepVerifier.create(Flux.fromStream(IntStream.range(0, 2500).mapToObj(i -> "c" + i))
+                        .flatMap(coalescer::load, 2500)
+                        .count())
+                .expectNext(2500L)
+                .expectComplete()
+                .verify(VERIFY_TIMEOUT);
+
+        // Assert
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= CourseLookupCoalescer.MAX_BATCH_SIZE));
+        assertEquals(2500, batches.stream().mapToInt(Set::size).sum());
+    }
+
+    @Test
+    void load_fromManyThreadsAtOnce_thenEveryIdIsQueuedAndNoneIsLookedUpOnItsOwn() throws Exception {
+        // Arrange: the batch only fills up once every id is queued, an id looked up on its own shows as an extra batch
+        int threads = 20;
+        int idsPerThread = CourseLookupCoalescer.MAX_BATCH_SIZE / threads;
+        CourseLookupCoalescer coalescer = new CourseLookupCoalescer(loader, Duration.ofSeconds(30), CourseLookupCoalescer.MAX_BATCH_SIZE);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<CompletableFuture<CourseResponseModel>>>> submitted = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return IntStream.range(0, idsPerThread)
+                            .mapToObj(i -> coalescer.load("c" + thread + "-" + i).toFuture())
+                            .toList();
+                }));
+            }
+            start.countDown();
+            for (Future<List<CompletableFuture<CourseResponseModel>>> lookups : submitted) {
+                for (CompletableFuture<CourseResponseModel> lookup : lookups.get(VERIFY_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                    lookup.get(VERIFY_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, batches.size());
+        assertEquals(CourseLookupCoalescer.MAX_BATCH_SIZE, batches.get(0).size());
+    }
+
+    private static CourseResponseModel course(String courseId) {
+        return new CourseResponseModel(courseId, "trs-075", "Web Services", 90, 2.0, "Math", null);
+    }
+}
@@ -0,0 +1,145 @@
+package com.champlain.enrollmentsservice.domainclientlayer.students;
+
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.ServiceUnavailableException;
+import com.champlain.enrollmentsservice.exceptionhandling.exceptions.StudentNotFoundException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudentLookupCacheTest {
+
+    private static final String STUDENT_ID = "c3540a89-cb47-4c96-888e-ff96708db4d8";
+    private static final String OTHER_STUDENT_ID = "7e1f0c2a-93d4-4b8e-a5f6-0d2c4e6f8a13";
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    //fake clock the expiries are measured with
+    private final AtomicLong nanos = new AtomicLong();
+    private final StudentLookupCache cache = new StudentLookupCache(100, TTL, NEGATIVE_TTL, nanos::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_withKnownStudent_thenCachedUntilTheTtl() {
+        // Arrange
+        Function<String, Mono<StudentResponseModel>> loader = counting(id -> Mono.just(student(id)));
+
+        // Act & Assert
+        getStudent(loader);
+        advance(TTL.minusSeconds(1));
+        getStudent(loader);
+        assertEquals(1, loads.get());
+
+        advance(Duration.ofSeconds(2));
+        getStudent(loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_withUnknownStudent_thenNotFoundIsCachedForTheNegativeTtlOnly() {
+        // Arrange
+        Function<String, Mono<StudentResponseModel>> loader = counting(id -> Mono.error(new StudentNotFoundException(id)));
+
+        // Act & Assert
+        getUnknownStudent(loader);
+        advance(NEGATIVE_TTL.minusSeconds(1));
+        getUnknownStudent(loader);
+        assertEquals(1, loads.get());
+
+        //well within the ttl of a known student, but past the negative ttl
+        advance(Duration.ofSeconds(2));
+        getUnknownStudent(loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_afterAFailedLoad_thenTheFailureIsNotCached() {
+        // Arrange: students-service is down for the first call only
+        Function<String, Mono<StudentResponseModel>> loader = counting(id -> loads.get() == 1
+                ? Mono.error(new ServiceUnavailableException("students-service"))
+                : Mono.just(student(id)));
+
+        // Act & Assert
+        StepVerifier.create(cache.get(STUDENT_ID, loader))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+        getStudent(loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_withConcurrentMisses_thenTheyShareOneLoad() {
+        // Arrange
+        Sinks.One<StudentResponseModel> response = Sinks.one();
+        Function<String, Mono<StudentResponseModel>> loader = counting(id -> response.asMono());
+
+        // Act
+        Mono<Long> waiters = Flux.merge(cache.get(STUDENT_ID, loader), cache.get(STUDENT_ID, loader), cache.get(STUDENT_ID, loader))
+                .count();
+
+        // Assert
+        StepVerifier.create(waiters)
+                .then(() -> response.tryEmitValue(student(STUDENT_ID)))
+                .expectNext(3L)
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getAll_withSomeIdsCached_thenOnlyTheOthersAreLoadedAndUnknownOnesAreRemembered() {
+        // Arrange: the batch loader only knows STUDENT_ID
+        List<Set<String>> batches = new ArrayList<>();
+        Function<Set<String>, Flux<StudentResponseModel>> batchLoader = ids -> {
+            batches.add(ids);
+            return Flux.fromIterable(ids).filter(STUDENT_ID::equals).map(StudentLookupCacheTest::student);
+        };
+        getStudent(counting(id -> Mono.just(student(id))));
+
+        // Act & Assert
+        StepVerifier.create(cache.getAll(Set.of(STUDENT_ID, OTHER_STUDENT_ID), batchLoader))
+                .expectNextMatches(students -> students.keySet().equals(Set.of(STUDENT_ID)))
+                .verifyComplete();
+        StepVerifier.create(cache.getAll(Set.of(STUDENT_ID, OTHER_STUDENT_ID), batchLoader))
+                .expectNextMatches(students -> students.keySet().equals(Set.of(STUDENT_ID)))
+                .verifyComplete();
+        assertEquals(List.of(Set.of(OTHER_STUDENT_ID)), batches);
+    }
+
+    private Function<String, Mono<StudentResponseModel>> counting(Function<String, Mono<StudentResponseModel>> loader) {
+        return id -> {
+            loads.incrementAndGet();
+            return loader.apply(id);
+        };
+    }
+
+    private void getStudent(Function<String, Mono<StudentResponseModel>> loader) {
+        StepVerifier.create(cache.get(STUDENT_ID, loader))
+                .expectNextMatches(student -> student.studentId().equals(STUDENT_ID))
+                .verifyComplete();
+    }
+
+    private void getUnknownStudent(Function<String, Mono<StudentResponseModel>> loader) {
+        StepVerifier.create(cache.get(STUDENT_ID, loader))
+                .expectError(StudentNotFoundException.class)
+                .verify();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static StudentResponseModel student(String studentId) {
+        return new StudentResponseModel(studentId, "Christine", "Gerard", "History", null);
+    }
+}
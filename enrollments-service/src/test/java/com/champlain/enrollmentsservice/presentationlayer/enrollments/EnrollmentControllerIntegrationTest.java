@@ -0,0 +1,156 @@
+package com.champlain.enrollmentsservice.presentationlayer.enrollments;
+
+import com.champlain.enrollmentsservice.dataaccesslayer.CourseSeatCounter;
+import com.champlain.enrollmentsservice.dataaccesslayer.Enrollment;
+import com.champlain.enrollmentsservice.dataaccesslayer.Semester;
+import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.courses.CourseServiceClient;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentResponseModel;
+import com.champlain.enrollmentsservice.domainclientlayer.students.StudentServiceClientAsynchronous;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+//embedded MongoDB (test profile) with the indexes created at startup; students-service and courses-service are mocked
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+class EnrollmentControllerIntegrationTest {
+
+    private static final String STUDENT_ID = "f2b1a1e0-3c1f-4d8e-9c4a-2f8d7c6b5a41";
+    private static final List<String> COURSE_IDS = List.of(
+            "0b8a3c7e-1f2d-4e5a-9b6c-7d8e9f0a1b21",
+            "0b8a3c7e-1f2d-4e5a-9b6c-7d8e9f0a1b22",
+            "0b8a3c7e-1f2d-4e5a-9b6c-7d8e9f0a1b23");
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @MockitoBean
+    private StudentServiceClientAsynchronous studentClient;
+
+    @MockitoBean
+    private CourseServiceClient courseClient;
+
+    @BeforeEach
+    void setUp() {
+        StepVerifier.create(reactiveMongoTemplate.remove(query(where("studentId").is(STUDENT_ID)), Enrollment.class)
+                        .then(reactiveMongoTemplate.remove(new Query(), CourseSeatCounter.class)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StudentResponseModel student = new StudentResponseModel(STUDENT_ID, "Donna", "Hornsby", "History", null);
+        when(studentClient.getStudentByStudentId(STUDENT_ID)).thenReturn(Mono.just(student));
+        when(studentClient.getStudentsByStudentIds(Set.of(STUDENT_ID))).thenReturn(Mono.just(Map.of(STUDENT_ID, student)));
+        when(courseClient.getCourseByCourseId(anyString()))
+                .thenAnswer(invocation -> Mono.just(course(invocation.getArgument(0))));
+        when(courseClient.getCoursesByCourseIds(any()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Set<String>>getArgument(0)).map(this::course));
+    }
+
+    @Test
+    void addEnrollment_twice_thenSecondIsConflictAndItsSeatIsGivenBack() {
+        // Arrange
+        EnrollmentRequestModel request = new EnrollmentRequestModel(2025, Semester.FALL, STUDENT_ID, COURSE_IDS.get(0));
+        postEnrollment(request).expectStatus().isCreated();
+
+        // Act & Assert
+        postEnrollment(request)
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Student is already enrolled in this course for this term");
+
+        StepVerifier.create(reactiveMongoTemplate.count(query(where("studentId").is(STUDENT_ID)), Enrollment.class))
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(reactiveMongoTemplate.findById(CourseSeatCounter.idOf(COURSE_IDS.get(0), 2025, Semester.FALL), CourseSeatCounter.class))
+                .expectNextMatches(counter -> counter.getEnrolled() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void importEnrollments_withDuplicates_thenOnlyTheDuplicateLinesFailAndTheRestIsWritten() {
+        // Arrange: already enrolled in the first course
+        postEnrollment(new EnrollmentRequestModel(2025, Semester.FALL, STUDENT_ID, COURSE_IDS.get(0)))
+                .expectStatus().isCreated();
+        String lines = String.join("\n",
+                importLine(COURSE_IDS.get(1)),
+                importLine(COURSE_IDS.get(0)),
+                importLine(COURSE_IDS.get(2)),
+                importLine(COURSE_IDS.get(1)));
+
+        // Act
+        List<EnrollmentImportResultModel> results = webTestClient.post()
+                .uri("/api/v1/enrollments/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(lines)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EnrollmentImportResultModel.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert: line 2 collides with the existing enrollment, line 4 with line 1 of the same bulk insert
+        assertEquals(List.of("CREATED", "FAILED", "CREATED", "FAILED"),
+                results.stream().map(EnrollmentImportResultModel::status).toList());
+        assertEquals("Student is already enrolled in this course for this term", results.get(1).reason());
+        assertEquals("Student is already enrolled in this course for this term", results.get(3).reason());
+
+        StepVerifier.create(reactiveMongoTemplate.find(query(where("studentId").is(STUDENT_ID)), Enrollment.class)
+                        .map(Enrollment::getCourseId)
+                        .collect(Collectors.toSet()))
+                .expectNext(Set.copyOf(COURSE_IDS))
+                .verifyComplete();
+        //the seats taken for the duplicate lines were given back
+        StepVerifier.create(reactiveMongoTemplate.find(new Query(), CourseSeatCounter.class)
+                        .map(CourseSeatCounter::getEnrolled))
+                .expectNext(1, 1, 1)
+                .verifyComplete();
+    }
+
+    private WebTestClient.ResponseSpec postEnrollment(EnrollmentRequestModel request) {
+        return webTestClient.post()
+                .uri("/api/v1/enrollments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange();
+    }
+
+    private static String importLine(String courseId) {
+        return "{\"enrollmentYear\": 2025, \"semester\": \"FALL\", \"studentId\": \"" + STUDENT_ID + "\", \"courseId\": \"" + courseId + "\"}";
+    }
+
+    private CourseResponseModel course(String courseId) {
+        return new CourseResponseModel(courseId, "trs-075", "Web Services", 90, 2.0, "Math", 30);
+    }
+}
@@ -0,0 +1,100 @@
+package com.champlain.studentsservice;
+
+import com.champlain.studentsservice.businesslayer.StudentService;
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentIdentifier;
+import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/*
+   Latency of a student lookup on the h2 profile, with the second-level cache on (every summary lookup after warm-up
+   is a hit) and off (every lookup is a query). Full lookups read stuff, which is never cached, so they are a query
+   either way, like the derived query lookup that was used before the natural id cache.
+ */
+@State(Scope.Benchmark)
+public class StudentLookupBenchmark {
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    @Param({"1000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private StudentRepository studentRepository;
+    private List<String> studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentsServiceApplication.class)
+                .profiles("h2")
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.champlain=WARN")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        studentRepository = context.getBean(StudentRepository.class);
+
+        studentIds = studentRepository.saveAll(IntStream.range(0, students)
+                        .mapToObj(StudentLookupBenchmark::newStudent)
+                        .toList())
+                .stream()
+                .map(student -> student.getStudentIdentifier().getStudentId())
+                .toList();
+
+        //fills the caches when they are enabled
+        studentIds.forEach(studentId -> studentService.getStudentByStudentId(studentId, StudentFields.SUMMARY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StudentResponseModel getStudentSummaryByStudentId() {
+        return studentService.getStudentByStudentId(randomStudentId(), StudentFields.SUMMARY);
+    }
+
+    @Benchmark
+    public StudentResponseModel getFullStudentByStudentId() {
+        return studentService.getStudentByStudentId(randomStudentId(), StudentFields.FULL);
+    }
+
+    @Benchmark
+    public Student derivedQueryByStudentId() {
+        return studentRepository.findStudentByStudentIdentifier_StudentId(randomStudentId());
+    }
+
+    private String randomStudentId() {
+        return studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+    }
+
+    private static Student newStudent(int i) {
+        Student student = new Student();
+        student.setStudentIdentifier(new StudentIdentifier());
+        student.setFirstName("First" + i);
+        student.setLastName("Last" + i);
+        student.setProgram("Computer Science");
+        student.setStuff("x".repeat(2_000));
+        return student;
+    }
+}
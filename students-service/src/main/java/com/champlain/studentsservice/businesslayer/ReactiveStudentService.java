@@ -0,0 +1,20 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.presentationlayer.StudentBatchResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import com.champlain.studentsservice.presentationlayer.StudentPageResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveStudentService {
+
+    Flux<StudentResponseModel> getStudents(StudentFields fields);
+    Mono<StudentPageResponseModel> getStudentsPage(Integer afterId, int limit, StudentFields fields);
+    Mono<StudentResponseModel> getStudentByRowId(Integer id, StudentFields fields);
+    Mono<StudentResponseModel> getStudentByStudentId(String studentId, StudentFields fields);
+    Mono<StudentBatchResponseModel> getStudentsByStudentIds(List<String> studentIds);
+    Mono<StudentBatchResponseModel> getStudentsByRowIds(List<Integer> rowIds);
+}
@@ -0,0 +1,128 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudent;
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudentRepository;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummary;
+import com.champlain.studentsservice.datamapperlayer.StudentResponseMapper;
+import com.champlain.studentsservice.presentationlayer.StudentBatchResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import com.champlain.studentsservice.presentationlayer.StudentPageResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
+import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+@Profile("reactive")
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+
+    private final StudentResponseMapper studentResponseMapper;
+    private final ReactiveStudentRepository reactiveStudentRepository;
+
+    public ReactiveStudentServiceImpl(StudentResponseMapper studentResponseMapper, ReactiveStudentRepository reactiveStudentRepository) {
+        this.studentResponseMapper = studentResponseMapper;
+        this.reactiveStudentRepository = reactiveStudentRepository;
+    }
+
+    @Override
+    public Flux<StudentResponseModel> getStudents(StudentFields fields) {
+        if (fields == StudentFields.SUMMARY) {
+            return reactiveStudentRepository.findAllByOrderByIdAsc(StudentSummary.class)
+                    .map(studentResponseMapper::summaryToResponseModel);
+        }
+        return reactiveStudentRepository.findAllByOrderByIdAsc(ReactiveStudent.class)
+                .map(studentResponseMapper::entityToResponseModel);
+    }
+
+    @Override
+    public Mono<StudentPageResponseModel> getStudentsPage(Integer afterId, int limit, StudentFields fields) {
+        int after = afterId == null ? 0 : afterId;
+        if (fields == StudentFields.SUMMARY) {
+            return reactiveStudentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1), StudentSummary.class)
+                    .collectList()
+                    .map(students -> StudentServiceImpl.toPage(students, limit, StudentSummary::id, studentResponseMapper::summaryToResponseModel));
+        }
+        return reactiveStudentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1), ReactiveStudent.class)
+                .collectList()
+                .map(students -> StudentServiceImpl.toPage(students, limit, ReactiveStudent::getId, studentResponseMapper::entityToResponseModel));
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByRowId(Integer id, StudentFields fields) {
+        Mono<StudentResponseModel> student = fields == StudentFields.SUMMARY
+                ? reactiveStudentRepository.findProjectedById(id, StudentSummary.class).map(studentResponseMapper::summaryToResponseModel)
+                : reactiveStudentRepository.findById(id).map(studentResponseMapper::entityToResponseModel);
+        return student
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("No student at rowId: " + id))));
+    }
+
+    @Override
+    public Mono<StudentResponseModel> getStudentByStudentId(String studentId, StudentFields fields) {
+        Mono<StudentResponseModel> student = fields == StudentFields.SUMMARY
+                ? reactiveStudentRepository.findProjectedByStudentId(studentId, StudentSummary.class).map(studentResponseMapper::summaryToResponseModel)
+                : reactiveStudentRepository.findReactiveStudentByStudentId(studentId).map(studentResponseMapper::entityToResponseModel);
+        return student
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new NotFoundException("Unknown studentId: " + studentId))));
+    }
+
+    @Override
+    public Mono<StudentBatchResponseModel> getStudentsByStudentIds(List<String> studentIds) {
+        return findInChunks(studentIds, reactiveStudentRepository::findAllByStudentIdIn, ReactiveStudent::getStudentId)
+                .map(found -> {
+                    List<StudentResponseModel> students = new ArrayList<>();
+                    List<String> missingStudentIds = new ArrayList<>();
+                    for (String studentId : new LinkedHashSet<>(studentIds)) {
+                        ReactiveStudent student = found.get(studentId);
+                        if (student == null) {
+                            missingStudentIds.add(studentId);
+                        } else {
+                            students.add(studentResponseMapper.entityToResponseModel(student));
+                        }
+                    }
+                    return StudentBatchResponseModel.builder()
+                            .students(students)
+                            .missingStudentIds(missingStudentIds)
+                            .missingRowIds(List.of())
+                            .build();
+                });
+    }
+
+    @Override
+    public Mono<StudentBatchResponseModel> getStudentsByRowIds(List<Integer> rowIds) {
+        return findInChunks(rowIds, reactiveStudentRepository::findAllById, ReactiveStudent::getId)
+                .map(found -> {
+                    List<StudentResponseModel> students = new ArrayList<>();
+                    List<Integer> missingRowIds = new ArrayList<>();
+                    for (Integer rowId : new LinkedHashSet<>(rowIds)) {
+                        ReactiveStudent student = found.get(rowId);
+                        if (student == null) {
+                            missingRowIds.add(rowId);
+                        } else {
+                            students.add(studentResponseMapper.entityToResponseModel(student));
+                        }
+                    }
+                    return StudentBatchResponseModel.builder()
+                            .students(students)
+                            .missingStudentIds(List.of())
+                            .missingRowIds(missingRowIds)
+                            .build();
+                });
+    }
+
+    //same chunking as StudentServiceImpl, the chunks are queried one after the other
+    private static <K> Mono<Map<K, ReactiveStudent>> findInChunks(List<K> ids, Function<List<K>, Flux<ReactiveStudent>> query, Function<ReactiveStudent, K> key) {
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+                .buffer(StudentServiceImpl.BATCH_QUERY_CHUNK_SIZE)
+                .concatMap(query)
+                .collectMap(key);
+    }
+}
@@ -1,12 +1,19 @@
 package com.champlain.studentsservice.businesslayer;
 
+import com.champlain.studentsservice.presentationlayer.StudentBatchResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import com.champlain.studentsservice.presentationlayer.StudentPageResponseModel;
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
 
-    List<StudentResponseModel> getStudents();
-    StudentResponseModel getStudentByRowId(Integer id);
-    StudentResponseModel getStudentByStudentId(String studentId);
+    void streamStudents(StudentFields fields, Consumer<StudentResponseModel> consumer);
+    StudentPageResponseModel getStudentsPage(Integer afterId, int limit, StudentFields fields);
+    StudentResponseModel getStudentByRowId(Integer id, StudentFields fields);
+    StudentResponseModel getStudentByStudentId(String studentId, StudentFields fields);
+    StudentBatchResponseModel getStudentsByStudentIds(List<String> studentIds);
+    StudentBatchResponseModel getStudentsByRowIds(List<Integer> rowIds);
 }
@@ -1,49 +1,184 @@
 package com.champlain.studentsservice.businesslayer;
 
 import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentIdentifier;
 import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummary;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummaryEntity;
 import com.champlain.studentsservice.datamapperlayer.StudentResponseMapper;
+import com.champlain.studentsservice.presentationlayer.StudentBatchResponseModel;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import com.champlain.studentsservice.presentationlayer.StudentPageResponseModel;
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 import com.champlain.studentsservice.utils.exceptions.NotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class StudentServiceImpl implements StudentService{
 
+    //ids per IN (...) query, keeps each statement well under the MySQL max_allowed_packet
+    static final int BATCH_QUERY_CHUNK_SIZE = 500;
+
     private final StudentResponseMapper studentResponseMapper;
     private final StudentRepository studentRepository;
+    private final EntityManager entityManager;
 
-    public StudentServiceImpl(StudentResponseMapper studentResponseMapper, StudentRepository studentRepository) {
+    public StudentServiceImpl(StudentResponseMapper studentResponseMapper, StudentRepository studentRepository, EntityManager entityManager) {
         this.studentResponseMapper = studentResponseMapper;
         this.studentRepository = studentRepository;
+        this.entityManager = entityManager;
     }
 
+    //each row is handed over (and, for full entities, detached) before the next one is read, so the persistence context stays empty
     @Override
-    public List<StudentResponseModel> getStudents() {
-        return studentResponseMapper.entityListToResponseModelList(studentRepository.findAll());
+    @Transactional(readOnly = true)
+    public void streamStudents(StudentFields fields, Consumer<StudentResponseModel> consumer) {
+        if (fields == StudentFields.SUMMARY) {
+            try (Stream<StudentSummary> students = studentRepository.streamAllSummariesOrderById()) {
+                students.forEach(student -> consumer.accept(studentResponseMapper.summaryToResponseModel(student)));
+            }
+            return;
+        }
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+            students.forEach(student -> {
+                consumer.accept(studentResponseMapper.entityToResponseModel(student));
+                entityManager.detach(student);
+            });
+        }
     }
 
     @Override
-    public StudentResponseModel getStudentByRowId(Integer id) {
-        Student foundStudent = studentRepository.findById(id).orElse(null);
+    public StudentPageResponseModel getStudentsPage(Integer afterId, int limit, StudentFields fields) {
+        //keyset pagination: WHERE id > afterId ORDER BY id LIMIT n, one extra row tells us whether there is a next page
+        int after = afterId == null ? 0 : afterId;
+        if (fields == StudentFields.SUMMARY) {
+            return toPage(studentRepository.findSummariesByIdGreaterThan(after, Limit.of(limit + 1)), limit,
+                    StudentSummary::id, studentResponseMapper::summaryToResponseModel);
+        }
+        return toPage(studentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1)), limit,
+                Student::getId, studentResponseMapper::entityToResponseModel);
+    }
+
+    static <T> StudentPageResponseModel toPage(List<T> rows, int limit, Function<T, Integer> id, Function<T, StudentResponseModel> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<T> page = hasNext ? rows.subList(0, limit) : rows;
+
+        return StudentPageResponseModel.builder()
+                .students(page.stream().map(mapper).toList())
+                .nextCursor(hasNext ? id.apply(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    //summary lookups are served from the second-level cache of StudentSummaryEntity, a hit doesn't touch the database at all;
+    //full lookups need stuff, which is never cached, and read the row by its primary key
+    @Override
+    @Transactional(readOnly = true)
+    public StudentResponseModel getStudentByRowId(Integer id, StudentFields fields) {
+        StudentResponseModel foundStudent = fields == StudentFields.SUMMARY
+                ? toSummaryResponseModel(entityManager.find(StudentSummaryEntity.class, id))
+                : studentRepository.findById(id).map(studentResponseMapper::entityToResponseModel).orElse(null);
 
         if (foundStudent == null) {
             throw new NotFoundException("No student at rowId: " + id);
         }
 
-        return studentResponseMapper.entityToResponseModel(foundStudent);
+        return foundStudent;
     }
 
+    //summaries are resolved through the natural id cache (studentId -> row id), then the entity cache;
+    //full lookups read the row through the unique student_id index
     @Override
-    public StudentResponseModel getStudentByStudentId(String studentId) {
-        Student foundStudent = studentRepository.findStudentByStudentIdentifier_StudentId(studentId);
+    @Transactional(readOnly = true)
+    public StudentResponseModel getStudentByStudentId(String studentId, StudentFields fields) {
+        StudentResponseModel foundStudent;
+        if (fields == StudentFields.SUMMARY) {
+            foundStudent = toSummaryResponseModel(entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(StudentSummaryEntity.class)
+                    .load(new StudentIdentifier(studentId)));
+        } else {
+            Student student = studentRepository.findStudentByStudentIdentifier_StudentId(studentId);
+            foundStudent = student == null ? null : studentResponseMapper.entityToResponseModel(student);
+        }
 
         if (foundStudent == null) {
             throw new NotFoundException("Unknown studentId: " + studentId);
         }
 
-        return studentResponseMapper.entityToResponseModel(foundStudent);
+        return foundStudent;
+    }
+
+    private StudentResponseModel toSummaryResponseModel(StudentSummaryEntity student) {
+        return student == null ? null : studentResponseMapper.summaryEntityToResponseModel(student);
+    }
+
+    @Override
+    public StudentBatchResponseModel getStudentsByStudentIds(List<String> studentIds) {
+        Map<String, Student> found = findInChunks(studentIds,
+                studentRepository::findAllByStudentIdentifier_StudentIdIn, student -> student.getStudentIdentifier().getStudentId());
+
+        List<StudentResponseModel> students = new ArrayList<>();
+        List<String> missingStudentIds = new ArrayList<>();
+        for (String studentId : new LinkedHashSet<>(studentIds)) {
+            Student student = found.get(studentId);
+            if (student == null) {
+                missingStudentIds.add(studentId);
+            } else {
+                students.add(studentResponseMapper.entityToResponseModel(student));
+            }
+        }
+        return StudentBatchResponseModel.builder()
+                .students(students)
+                .missingStudentIds(missingStudentIds)
+                .missingRowIds(List.of())
+                .build();
+    }
+
+    @Override
+    public StudentBatchResponseModel getStudentsByRowIds(List<Integer> rowIds) {
+        Map<Integer, Student> found = findInChunks(rowIds, studentRepository::findAllById, Student::getId);
+
+        List<StudentResponseModel> students = new ArrayList<>();
+        List<Integer> missingRowIds = new ArrayList<>();
+        for (Integer rowId : new LinkedHashSet<>(rowIds)) {
+            Student student = found.get(rowId);
+            if (student == null) {
+                missingRowIds.add(rowId);
+            } else {
+                students.add(studentResponseMapper.entityToResponseModel(student));
+            }
+        }
+        return StudentBatchResponseModel.builder()
+                .students(students)
+                .missingStudentIds(List.of())
+                .missingRowIds(missingRowIds)
+                .build();
+    }
+
+    //one IN query per chunk of distinct ids, results keyed by id so the caller can restore request order
+    private static <K> Map<K, Student> findInChunks(List<K> ids, Function<List<K>, List<Student>> query, Function<Student, K> key) {
+        List<K> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<K, Student> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_QUERY_CHUNK_SIZE) {
+            List<K> chunk = distinctIds.subList(from, Math.min(from + BATCH_QUERY_CHUNK_SIZE, distinctIds.size()));
+            for (Student student : query.apply(chunk)) {
+                found.put(key.apply(student), student);
+            }
+        }
+        return found;
     }
 }
@@ -0,0 +1,36 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+//R2DBC view of the students table, used by the reactive profile
+@Data
+@Builder
+@Table(name = "students")
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReactiveStudent {
+
+    @Id
+    private Integer id;
+
+    @Column("student_id")
+    private String studentId;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("program")
+    private String program;
+
+    @Column("stuff")
+    private String stuff;
+}
@@ -0,0 +1,27 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveStudentRepository extends ReactiveCrudRepository<ReactiveStudent, Integer> {
+
+    Mono<ReactiveStudent> findReactiveStudentByStudentId(String studentId);
+
+    Flux<ReactiveStudent> findAllByStudentIdIn(Collection<String> studentIds);
+
+    //the projections below take ReactiveStudent.class for the full row or StudentSummary.class to leave stuff out of the select
+
+    <T> Mono<T> findProjectedById(Integer id, Class<T> type);
+
+    <T> Mono<T> findProjectedByStudentId(String studentId, Class<T> type);
+
+    <T> Flux<T> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit, Class<T> type);
+
+    <T> Flux<T> findAllByOrderByIdAsc(Class<T> type);
+}
@@ -3,7 +3,9 @@ package com.champlain.studentsservice.dataaccesslayer;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.NaturalId;
 
+//not second-level cached because of stuff, the summary lookups are cached through StudentSummaryEntity instead
 @Entity
 @Table(name="students")
 @Data
@@ -14,6 +16,7 @@ public class Student {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @NaturalId
     @Embedded
     private StudentIdentifier studentIdentifier;
 
@@ -1,12 +1,14 @@
 package com.champlain.studentsservice.dataaccesslayer;
 
 import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.util.UUID;
 
 @Embeddable
 @Getter
+@EqualsAndHashCode
 public class StudentIdentifier {
     private String studentId;
 
@@ -14,4 +16,9 @@ public class StudentIdentifier {
         this.studentId = UUID.randomUUID().toString();
     }
 
+    //an existing studentId, used as the natural id of a lookup
+    public StudentIdentifier(String studentId) {
+        this.studentId = studentId;
+    }
+
 }
@@ -1,8 +1,48 @@
 package com.champlain.studentsservice.dataaccesslayer;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
     Student findStudentByStudentIdentifier_StudentId(String studentId);
+
+    List<Student> findAllByStudentIdentifier_StudentIdIn(Collection<String> studentIds);
+
+    List<Student> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    //must be consumed (and closed) inside a transaction; rows are fetched 500 at a time
+    //and kept out of the second-level cache so a full scan doesn't evict the hot students
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAllOrderById();
+
+    //summary projections: stuff is left out of the select list, not just out of the response
+    //(single summary lookups go through the second-level cache of StudentSummaryEntity instead, see StudentServiceImpl)
+
+    @Query("select new com.champlain.studentsservice.dataaccesslayer.StudentSummary(s.id, s.studentIdentifier.studentId, s.firstName, s.lastName, s.program) "
+            + "from Student s where s.id > :afterId order by s.id")
+    List<StudentSummary> findSummariesByIdGreaterThan(@Param("afterId") Integer afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.champlain.studentsservice.dataaccesslayer.StudentSummary(s.id, s.studentIdentifier.studentId, s.firstName, s.lastName, s.program) "
+            + "from Student s order by s.id")
+    Stream<StudentSummary> streamAllSummariesOrderById();
 }
@@ -0,0 +1,9 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+//every column of the students table except the unbounded stuff TEXT column, selected column by column so stuff is never read
+public record StudentSummary(Integer id,
+                             String studentId,
+                             String firstName,
+                             String lastName,
+                             String program) {
+}
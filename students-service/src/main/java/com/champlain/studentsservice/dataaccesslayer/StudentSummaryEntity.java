@@ -0,0 +1,40 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+/*
+   Read-only view of the students table without the unbounded stuff TEXT column. This, not Student, is what the
+   second-level cache holds (by row id in region student-summaries, by studentId in student-summaries-natural-id),
+   so every cache entry is bounded by the VARCHAR columns, see application.conf for the footprint.
+   students-service never writes students; an external change shows up once the entry expires.
+ */
+@Entity
+@Immutable
+@Table(name="students")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "student-summaries")
+@NaturalIdCache(region = "student-summaries-natural-id")
+@Getter
+@NoArgsConstructor
+public class StudentSummaryEntity {
+
+    @Id
+    private Integer id;
+
+    @NaturalId
+    @Embedded
+    private StudentIdentifier studentIdentifier;
+
+    private String firstName;
+    private String lastName;
+    private String program;
+}
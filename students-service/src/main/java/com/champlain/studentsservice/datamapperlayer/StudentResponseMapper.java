@@ -1,17 +1,25 @@
 package com.champlain.studentsservice.datamapperlayer;
 
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudent;
 import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummary;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummaryEntity;
 import com.champlain.studentsservice.presentationlayer.StudentResponseModel;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.util.List;
-
 @Mapper(componentModel = "spring")
 public interface StudentResponseMapper {
 
     @Mapping(expression = "java(student.getStudentIdentifier().getStudentId())", target = "studentId")
     StudentResponseModel entityToResponseModel(Student student);
 
-    List<StudentResponseModel> entityListToResponseModelList(List<Student> students);
+    StudentResponseModel entityToResponseModel(ReactiveStudent student);
+
+    @Mapping(target = "stuff", ignore = true)
+    StudentResponseModel summaryToResponseModel(StudentSummary studentSummary);
+
+    @Mapping(expression = "java(student.getStudentIdentifier().getStudentId())", target = "studentId")
+    @Mapping(target = "stuff", ignore = true)
+    StudentResponseModel summaryEntityToResponseModel(StudentSummaryEntity student);
 }
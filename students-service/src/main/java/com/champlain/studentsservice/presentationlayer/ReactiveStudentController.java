@@ -0,0 +1,80 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.businesslayer.ReactiveStudentService;
+import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//same routes as StudentController, served on WebFlux + R2DBC when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/students")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService reactiveStudentService;
+
+    public ReactiveStudentController(ReactiveStudentService reactiveStudentService) {
+        this.reactiveStudentService = reactiveStudentService;
+    }
+
+    //streamed from the R2DBC cursor as a JSON array, or one student per line with Accept: application/x-ndjson
+    @GetMapping(value = "",
+    produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StudentResponseModel> getStudents(@RequestParam(defaultValue = "summary") String fields) {
+        return Mono.fromCallable(() -> StudentFields.from(fields))
+                .flatMapMany(reactiveStudentService::getStudents);
+    }
+
+    //keyset page, used whenever limit is given; pass the nextCursor of a page as afterId to get the following one
+    @GetMapping(value = "", params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<StudentPageResponseModel> getStudentsPage(@RequestParam(required = false) Integer afterId,
+                                                          @RequestParam int limit,
+                                                          @RequestParam(defaultValue = "summary") String fields) {
+        return Mono.fromCallable(() -> {
+                    StudentController.validatePage(limit);
+                    return StudentFields.from(fields);
+                })
+                .flatMap(studentFields -> reactiveStudentService.getStudentsPage(afterId, limit, studentFields));
+    }
+
+    //get by database rowId
+    @GetMapping(value = "/row/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<StudentResponseModel>> getStudentByRowId(@PathVariable Integer id,
+                                                                        @RequestParam(defaultValue = "summary") String fields) {
+        return Mono.fromCallable(() -> StudentFields.from(fields))
+                .flatMap(studentFields -> reactiveStudentService.getStudentByRowId(id, studentFields))
+                .map(ResponseEntity::ok);
+    }
+
+    //get by studentId
+    @GetMapping(value = "/{studentId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<StudentResponseModel>> getStudentByStudentId(@PathVariable String studentId,
+                                                                            @RequestParam(defaultValue = "summary") String fields) {
+        return Mono.just(studentId)
+                .filter(id -> id.length() == 36)
+                .switchIfEmpty(Mono.error(new InvalidInputException("Invalid studentId: " + studentId)))
+                .flatMap(id -> reactiveStudentService.getStudentByStudentId(id, StudentFields.from(fields)))
+                .map(ResponseEntity::ok);
+    }
+
+    //get many by studentId or by database rowId, in request order
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<StudentBatchResponseModel>> getStudentsInBatch(@RequestBody Mono<StudentBatchRequestModel> studentBatchRequestModel) {
+        return studentBatchRequestModel
+                .doOnNext(StudentController::validateBatch)
+                .flatMap(batch -> batch.getStudentIds() != null
+                        ? reactiveStudentService.getStudentsByStudentIds(batch.getStudentIds())
+                        : reactiveStudentService.getStudentsByRowIds(batch.getRowIds()))
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,19 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//either studentIds or rowIds, not both
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentBatchRequestModel {
+
+    private List<String> studentIds;
+    private List<Integer> rowIds;
+}
@@ -0,0 +1,20 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//students come back in request order; ids that matched nothing are listed instead of being silently dropped
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentBatchResponseModel {
+
+    private List<StudentResponseModel> students;
+    private List<String> missingStudentIds;
+    private List<Integer> missingRowIds;
+}
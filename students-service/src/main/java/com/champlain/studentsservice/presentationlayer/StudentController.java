@@ -2,43 +2,138 @@ package com.champlain.studentsservice.presentationlayer;
 
 import com.champlain.studentsservice.businesslayer.StudentService;
 import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+//reads return the summary (everything but stuff) unless fields=full is given
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/students")
 public class StudentController {
 
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
     }
 
+    //the whole table, written row by row as it is read: a JSON array, or one student per line with Accept: application/x-ndjson
     @GetMapping(value = "",
-    produces = "application/json")
-    public ResponseEntity<List<StudentResponseModel>> getStudents() {
-        return ResponseEntity.ok().body(studentService.getStudents());
+    produces = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<StreamingResponseBody> getStudents(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                             @RequestParam(defaultValue = "summary") String fields) {
+        StudentFields studentFields = StudentFields.from(fields);
+        boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            if (ndjson) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                generator.writeStartArray();
+            }
+            studentService.streamStudents(studentFields, student -> {
+                try {
+                    generator.writeObject(student);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (ndjson) {
+                generator.writeRaw('\n');
+            } else {
+                generator.writeEndArray();
+            }
+            generator.close();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    //keyset page, used whenever limit is given; pass the nextCursor of a page as afterId to get the following one
+    @GetMapping(value = "", params = "limit", produces = "application/json")
+    public ResponseEntity<StudentPageResponseModel> getStudentsPage(@RequestParam(required = false) Integer afterId,
+                                                                    @RequestParam int limit,
+                                                                    @RequestParam(defaultValue = "summary") String fields) {
+        validatePage(limit);
+        return ResponseEntity.ok().body(studentService.getStudentsPage(afterId, limit, StudentFields.from(fields)));
     }
 
     //get by database rowId
     @GetMapping(value = "/row/{id}", produces = "application/json")
-    public ResponseEntity<StudentResponseModel> getStudentByRowId(@PathVariable Integer id) {
-        return ResponseEntity.ok().body(studentService.getStudentByRowId(id));
+    public ResponseEntity<StudentResponseModel> getStudentByRowId(@PathVariable Integer id,
+                                                                  @RequestParam(defaultValue = "summary") String fields) {
+        return ResponseEntity.ok().body(studentService.getStudentByRowId(id, StudentFields.from(fields)));
     }
 
     //get by studentId
     @GetMapping(value = "/{studentId}", produces = "application/json")
-    public ResponseEntity<StudentResponseModel> getStudentByStudentId(@PathVariable String studentId) {
+    public ResponseEntity<StudentResponseModel> getStudentByStudentId(@PathVariable String studentId,
+                                                                      @RequestParam(defaultValue = "summary") String fields) {
         if (studentId.length() != 36) {
             throw new InvalidInputException("Invalid studentId: " + studentId);
         }
-        return ResponseEntity.ok().body(studentService.getStudentByStudentId(studentId));
+        return ResponseEntity.ok().body(studentService.getStudentByStudentId(studentId, StudentFields.from(fields)));
+    }
+
+    //get many by studentId or by database rowId, in request order
+    @PostMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<StudentBatchResponseModel> getStudentsInBatch(@RequestBody StudentBatchRequestModel studentBatchRequestModel) {
+        validateBatch(studentBatchRequestModel);
+        if (studentBatchRequestModel.getStudentIds() != null) {
+            return ResponseEntity.ok().body(studentService.getStudentsByStudentIds(studentBatchRequestModel.getStudentIds()));
+        }
+        return ResponseEntity.ok().body(studentService.getStudentsByRowIds(studentBatchRequestModel.getRowIds()));
+    }
+
+    static void validatePage(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    static void validateBatch(StudentBatchRequestModel studentBatchRequestModel) {
+        List<String> studentIds = studentBatchRequestModel.getStudentIds();
+        List<Integer> rowIds = studentBatchRequestModel.getRowIds();
+
+        if ((studentIds == null) == (rowIds == null)) {
+            throw new InvalidInputException("Exactly one of studentIds or rowIds is required");
+        }
+        int size = studentIds != null ? studentIds.size() : rowIds.size();
+        if (size > MAX_BATCH_SIZE) {
+            throw new InvalidInputException("At most " + MAX_BATCH_SIZE + " students can be requested at once");
+        }
+        if (studentIds != null && !studentIds.stream().allMatch(id -> id != null && id.length() == 36)) {
+            throw new InvalidInputException("Every studentId in the batch must be 36 characters");
+        }
+        if (rowIds != null && rowIds.contains(null)) {
+            throw new InvalidInputException("rowIds can't contain null");
+        }
     }
     
 }
@@ -0,0 +1,17 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.utils.exceptions.InvalidInputException;
+
+//value of the fields= query parameter: summary leaves out stuff, full is the whole record
+public enum StudentFields {
+    SUMMARY,
+    FULL;
+
+    public static StudentFields from(String fields) {
+        return switch (fields) {
+            case "summary" -> SUMMARY;
+            case "full" -> FULL;
+            default -> throw new InvalidInputException("fields must be summary or full");
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//nextCursor is the afterId to send for the following page, null once the last page has been reached
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPageResponseModel {
+
+    private List<StudentResponseModel> students;
+    private Integer nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.champlain.studentsservice.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,5 +16,7 @@ public class StudentResponseModel {
     private String firstName;
     private String lastName;
     private String program;
+    //only filled in for fields=full and left out of the JSON otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String stuff;
 }
@@ -0,0 +1,93 @@
+package com.champlain.studentsservice.businesslayer;
+
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentIdentifier;
+import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import com.champlain.studentsservice.dataaccesslayer.StudentSummaryEntity;
+import com.champlain.studentsservice.presentationlayer.StudentFields;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//every service call is its own transaction and session, so a second lookup can only be served by the second-level caches
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+class StudentServiceCacheIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        student = new Student();
+        student.setStudentIdentifier(new StudentIdentifier());
+        student.setFirstName("Christine");
+        student.setLastName("Gerard");
+        student.setProgram("History");
+        student.setStuff("x".repeat(2_000));
+        student = studentRepository.save(student);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getStudentByStudentId_withSummaryTwice_thenTheSecondIsANaturalIdAndEntityCacheHitWithoutAQuery() {
+        // Arrange
+        String studentId = student.getStudentIdentifier().getStudentId();
+        studentService.getStudentByStudentId(studentId, StudentFields.SUMMARY);
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        // Act
+        studentService.getStudentByStudentId(studentId, StudentFields.SUMMARY);
+
+        // Assert
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdStatistics(StudentSummaryEntity.class.getName()).getCacheHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("student-summaries").getHitCount());
+    }
+
+    @Test
+    void getStudentByRowId_withSummaryTwice_thenTheSecondIsAnEntityCacheHitWithoutAQuery() {
+        // Arrange
+        studentService.getStudentByRowId(student.getId(), StudentFields.SUMMARY);
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        // Act
+        studentService.getStudentByRowId(student.getId(), StudentFields.SUMMARY);
+
+        // Assert
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("student-summaries").getHitCount());
+    }
+
+    @Test
+    void getStudentByStudentId_withFullTwice_thenBothReadTheRowBecauseStuffIsNeverCached() {
+        // Arrange
+        String studentId = student.getStudentIdentifier().getStudentId();
+
+        // Act
+        studentService.getStudentByStudentId(studentId, StudentFields.FULL);
+        studentService.getStudentByStudentId(studentId, StudentFields.FULL);
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+    }
+}
@@ -0,0 +1,76 @@
+package com.champlain.studentsservice.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//the h2 profile database, schema-h2.sql included, instead of the one @DataJpaTest would swap in
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StudentRepositoryIntegrationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAllInBatch();
+        students = studentRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(StudentRepositoryIntegrationTest::newStudent)
+                .toList());
+    }
+
+    @Test
+    void findAllByStudentIdentifier_StudentIdIn_withUnknownIds_thenOnlyTheExistingStudentsAreReturned() {
+        // Arrange
+        String unknownStudentId = UUID.randomUUID().toString();
+
+        // Act
+        List<Student> found = studentRepository.findAllByStudentIdentifier_StudentIdIn(
+                List.of(studentId(students.get(0)), unknownStudentId, studentId(students.get(2))));
+
+        // Assert
+        assertEquals(Set.of(studentId(students.get(0)), studentId(students.get(2))),
+                found.stream().map(StudentRepositoryIntegrationTest::studentId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void findAllById_withUnknownRowIds_thenOnlyTheExistingStudentsAreReturned() {
+        // Arrange
+        Integer unknownRowId = students.get(2).getId() + 1000;
+
+        // Act
+        List<Student> found = studentRepository.findAllById(List.of(students.get(1).getId(), unknownRowId));
+
+        // Assert
+        assertEquals(List.of(students.get(1).getId()), found.stream().map(Student::getId).toList());
+    }
+
+    private static Student newStudent(int i) {
+        Student student = new Student();
+        student.setStudentIdentifier(new StudentIdentifier());
+        student.setFirstName("First" + i);
+        student.setLastName("Last" + i);
+        student.setProgram("Computer Science");
+        student.setStuff("stuff of student " + i);
+        return student;
+    }
+
+    private static String studentId(Student student) {
+        return student.getStudentIdentifier().getStudentId();
+    }
+}
@@ -0,0 +1,180 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudent;
+import com.champlain.studentsservice.dataaccesslayer.ReactiveStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/*
+   Boots the reactive profile next to h2 the way it is deployed: Netty + R2DBC with JPA and the DataSource switched off,
+   schema-h2.sql run through R2DBC, and summaries read as StudentSummary projections. Same routes as StudentController.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles({"h2", "reactive"})
+@AutoConfigureWebTestClient
+class ReactiveStudentControllerIntegrationTest {
+
+    private static final String BASE_URI = "/api/v1/students";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveStudentRepository reactiveStudentRepository;
+
+    private List<ReactiveStudent> students;
+
+    @BeforeEach
+    void setUp() {
+        StepVerifier.create(reactiveStudentRepository.deleteAll()
+                        .thenMany(reactiveStudentRepository.saveAll(IntStream.range(0, 3)
+                                .mapToObj(ReactiveStudentControllerIntegrationTest::newStudent)
+                                .toList()))
+                        .collectList())
+                .consumeNextWith(saved -> students = saved)
+                .verifyComplete();
+    }
+
+    @Test
+    void getStudentByStudentId_withSummary_thenStudentWithoutStuff() {
+        ReactiveStudent student = students.get(0);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/{studentId}", student.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.studentId").isEqualTo(student.getStudentId())
+                .jsonPath("$.firstName").isEqualTo(student.getFirstName())
+                .jsonPath("$.stuff").doesNotExist();
+    }
+
+    @Test
+    void getStudentByStudentId_withFull_thenStudentWithStuff() {
+        ReactiveStudent student = students.get(0);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/{studentId}?fields=full", student.getStudentId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stuff").isEqualTo(student.getStuff());
+    }
+
+    @Test
+    void getStudentByStudentId_withUnknownId_thenNotFound() {
+        webTestClient.get()
+                .uri(BASE_URI + "/{studentId}", UUID.randomUUID().toString())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getStudentByRowId_withSummary_thenStudentWithoutStuff() {
+        ReactiveStudent student = students.get(1);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/row/{id}", student.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.studentId").isEqualTo(student.getStudentId())
+                .jsonPath("$.stuff").doesNotExist();
+    }
+
+    @Test
+    void getStudents_thenJsonArrayInRowOrder() {
+        webTestClient.get()
+                .uri(BASE_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].studentId").isEqualTo(students.get(0).getStudentId())
+                .jsonPath("$[2].studentId").isEqualTo(students.get(2).getStudentId());
+    }
+
+    @Test
+    void getStudentsPage_withLimit_thenPageAndCursorOfItsLastStudent() {
+        webTestClient.get()
+                .uri(BASE_URI + "?limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.students.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").isEqualTo(students.get(1).getId());
+    }
+
+    @Test
+    void getStudentsPage_withLimitOutOfBounds_thenUnprocessableEntity() {
+        webTestClient.get()
+                .uri(BASE_URI + "?limit=0")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void getStudentsInBatch_withDuplicateAndUnknownIds_thenStudentsInRequestOrderAndTheMissingIds() {
+        String unknown = UUID.randomUUID().toString();
+
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(StudentBatchRequestModel.builder()
+                        .studentIds(List.of(students.get(2).getStudentId(), unknown, students.get(0).getStudentId(), students.get(2).getStudentId()))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.students.length()").isEqualTo(2)
+                .jsonPath("$.students[0].studentId").isEqualTo(students.get(2).getStudentId())
+                .jsonPath("$.students[1].studentId").isEqualTo(students.get(0).getStudentId())
+                .jsonPath("$.missingStudentIds[0]").isEqualTo(unknown);
+    }
+
+    @Test
+    void getStudentsInBatch_withBothStudentIdsAndRowIds_thenUnprocessableEntity() {
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(StudentBatchRequestModel.builder()
+                        .studentIds(List.of(students.get(0).getStudentId()))
+                        .rowIds(List.of(students.get(0).getId()))
+                        .build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    private static ReactiveStudent newStudent(int i) {
+        return ReactiveStudent.builder()
+                .studentId(UUID.randomUUID().toString())
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .program("Computer Science")
+                .stuff("stuff of student " + i)
+                .build();
+    }
+}
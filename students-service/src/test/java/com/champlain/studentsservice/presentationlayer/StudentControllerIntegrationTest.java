@@ -0,0 +1,337 @@
+package com.champlain.studentsservice.presentationlayer;
+
+import com.champlain.studentsservice.dataaccesslayer.Student;
+import com.champlain.studentsservice.dataaccesslayer.StudentIdentifier;
+import com.champlain.studentsservice.dataaccesslayer.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+//blocking stack on the h2 profile, every test starts from an empty students table
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("h2")
+@AutoConfigureWebTestClient
+class StudentControllerIntegrationTest {
+
+    private static final String BASE_URI = "/api/v1/students";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getStudents_withAcceptJson_thenOneJsonArrayOfSummariesInRowOrder() {
+        // Arrange
+        List<Student> students = givenStudents(3);
+
+        // Act & Assert
+        webTestClient.get()
+                .uri(BASE_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].studentId").isEqualTo(studentId(students.get(0)))
+                .jsonPath("$[2].studentId").isEqualTo(studentId(students.get(2)))
+                .jsonPath("$[0].stuff").doesNotExist();
+    }
+
+    @Test
+    void getStudents_withEmptyTable_thenEmptyJsonArray() {
+        webTestClient.get()
+                .uri(BASE_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("[]");
+    }
+
+    @Test
+    void getStudents_withAcceptNdjson_thenOneStudentPerLineEndingWithANewline() throws Exception {
+        // Arrange
+        List<Student> students = givenStudents(3);
+
+        // Act
+        String body = webTestClient.get()
+                .uri(BASE_URI + "?fields=full")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert: full entities are read from the transaction-scoped stream, stuff included
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = body.lines().toList();
+        assertEquals(3, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            StudentResponseModel student = objectMapper.readValue(lines.get(i), StudentResponseModel.class);
+            assertEquals(studentId(students.get(i)), student.getStudentId());
+            assertEquals(students.get(i).getStuff(), student.getStuff());
+        }
+    }
+
+    @Test
+    void getStudentsPage_throughEveryPage_thenEachStudentOnceAndNoCursorAfterTheLastPage() {
+        // Arrange
+        List<Student> students = givenStudents(5);
+
+        // Act
+        StudentPageResponseModel first = getPage(null, 2);
+        StudentPageResponseModel second = getPage(first.getNextCursor(), 2);
+        StudentPageResponseModel last = getPage(second.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(students.get(1).getId(), first.getNextCursor());
+        assertEquals(students.get(3).getId(), second.getNextCursor());
+        assertNull(last.getNextCursor());
+        assertEquals(students.stream().map(StudentControllerIntegrationTest::studentId).toList(),
+                Stream.of(first, second, last)
+                        .flatMap(page -> page.getStudents().stream())
+                        .map(StudentResponseModel::getStudentId)
+                        .toList());
+    }
+
+    @Test
+    void getStudentsPage_withLimitEqualToTheRemainingStudents_thenNoNextCursor() {
+        // Arrange
+        givenStudents(3);
+
+        // Act
+        StudentPageResponseModel page = getPage(null, 3);
+
+        // Assert
+        assertEquals(3, page.getStudents().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getStudentsPage_withTheMaximumLimit_thenOk() {
+        givenStudents(1);
+
+        assertEquals(1, getPage(null, StudentController.MAX_PAGE_SIZE).getStudents().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, StudentController.MAX_PAGE_SIZE + 1})
+    void getStudentsPage_withLimitOutOfBounds_thenUnprocessableEntity(int limit) {
+        webTestClient.get()
+                .uri(BASE_URI + "?limit=" + limit)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("limit must be between 1 and " + StudentController.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void getStudentsInBatch_withMoreStudentIdsThanOneChunk_thenAllAreReturnedInRequestOrderWithOneQueryPerChunk() {
+        // Arrange: 600 ids span two IN queries of 500
+        List<String> studentIds = new ArrayList<>(givenStudents(600).stream().map(StudentControllerIntegrationTest::studentId).toList());
+        Collections.reverse(studentIds);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        StudentBatchResponseModel response = postBatch(StudentBatchRequestModel.builder().studentIds(studentIds).build());
+
+        // Assert
+        assertEquals(studentIds, response.getStudents().stream().map(StudentResponseModel::getStudentId).toList());
+        assertEquals(List.of(), response.getMissingStudentIds());
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void getStudentsInBatch_withMoreRowIdsThanOneChunk_thenAllAreReturnedInRequestOrder() {
+        // Arrange
+        List<Student> students = givenStudents(501);
+        List<Integer> rowIds = students.stream().map(Student::getId).toList();
+
+        // Act
+        StudentBatchResponseModel response = postBatch(StudentBatchRequestModel.builder().rowIds(rowIds).build());
+
+        // Assert
+        assertEquals(students.stream().map(StudentControllerIntegrationTest::studentId).toList(),
+                response.getStudents().stream().map(StudentResponseModel::getStudentId).toList());
+        assertEquals(List.of(), response.getMissingRowIds());
+    }
+
+    @Test
+    void getStudentsInBatch_withDuplicateStudentIds_thenEachStudentIsReturnedOnceAtItsFirstPosition() {
+        // Arrange
+        List<Student> students = givenStudents(2);
+        String first = studentId(students.get(0));
+        String second = studentId(students.get(1));
+
+        // Act
+        StudentBatchResponseModel response = postBatch(StudentBatchRequestModel.builder()
+                .studentIds(List.of(second, first, second, first))
+                .build());
+
+        // Assert
+        assertEquals(List.of(second, first), response.getStudents().stream().map(StudentResponseModel::getStudentId).toList());
+    }
+
+    @Test
+    void getStudentsInBatch_withUnknownStudentIds_thenTheyAreListedAsMissing() {
+        // Arrange
+        String known = studentId(givenStudents(1).get(0));
+        String unknown = UUID.randomUUID().toString();
+
+        // Act
+        StudentBatchResponseModel response = postBatch(StudentBatchRequestModel.builder()
+                .studentIds(List.of(unknown, known, unknown))
+                .build());
+
+        // Assert
+        assertEquals(List.of(known), response.getStudents().stream().map(StudentResponseModel::getStudentId).toList());
+        assertEquals(List.of(unknown), response.getMissingStudentIds());
+    }
+
+    @Test
+    void getStudentsInBatch_withUnknownRowIds_thenTheyAreListedAsMissing() {
+        // Arrange
+        Integer known = givenStudents(1).get(0).getId();
+        Integer unknown = known + 1000;
+
+        // Act
+        StudentBatchResponseModel response = postBatch(StudentBatchRequestModel.builder()
+                .rowIds(List.of(known, unknown))
+                .build());
+
+        // Assert
+        assertEquals(1, response.getStudents().size());
+        assertEquals(List.of(unknown), response.getMissingRowIds());
+    }
+
+    @Test
+    void getStudentsInBatch_withBothStudentIdsAndRowIds_thenUnprocessableEntity() {
+        postInvalidBatch(StudentBatchRequestModel.builder()
+                        .studentIds(List.of(UUID.randomUUID().toString()))
+                        .rowIds(List.of(1))
+                        .build(),
+                "Exactly one of studentIds or rowIds is required");
+    }
+
+    @Test
+    void getStudentsInBatch_withNeitherStudentIdsNorRowIds_thenUnprocessableEntity() {
+        postInvalidBatch(new StudentBatchRequestModel(), "Exactly one of studentIds or rowIds is required");
+    }
+
+    @Test
+    void getStudentsInBatch_withMoreThanTheMaximumNumberOfIds_thenUnprocessableEntity() {
+        List<String> studentIds = IntStream.rangeClosed(0, StudentController.MAX_BATCH_SIZE)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        postInvalidBatch(StudentBatchRequestModel.builder().studentIds(studentIds).build(),
+                "At most " + StudentController.MAX_BATCH_SIZE + " students can be requested at once");
+    }
+
+    @Test
+    void getStudentsInBatch_withMalformedStudentId_thenUnprocessableEntity() {
+        postInvalidBatch(StudentBatchRequestModel.builder().studentIds(List.of("not-a-student-id")).build(),
+                "Every studentId in the batch must be 36 characters");
+    }
+
+    private StudentPageResponseModel getPage(Integer afterId, int limit) {
+        return webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(BASE_URI)
+                        .queryParamIfPresent("afterId", Optional.ofNullable(afterId))
+                        .queryParam("limit", limit)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentPageResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private StudentBatchResponseModel postBatch(StudentBatchRequestModel request) {
+        return webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentBatchResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private void postInvalidBatch(StudentBatchRequestModel request, String message) {
+        webTestClient.post()
+                .uri(BASE_URI + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(message);
+    }
+
+    private List<Student> givenStudents(int count) {
+        return studentRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(StudentControllerIntegrationTest::newStudent)
+                .toList());
+    }
+
+    private static Student newStudent(int i) {
+        Student student = new Student();
+        student.setStudentIdentifier(new StudentIdentifier());
+        student.setFirstName("First" + i);
+        student.setLastName("Last" + i);
+        student.setProgram("Computer Science");
+        student.setStuff("stuff of student " + i);
+        return student;
+    }
+
+    private static String studentId(Student student) {
+        return student.getStudentIdentifier().getStudentId();
+    }
+}